@@ -0,0 +1,66 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.IncomeResponse;
+import com.expensetracker.entity.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic test data. Row ids run newest first and dates fall with the id, so
+// (date DESC, id DESC) order is simply id DESC — which lets the keyset stubs generate
+// any page on demand instead of holding millions of rows.
+final class Fixtures {
+
+    static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Bills", "Entertainment", "Health", "Education", "Other"};
+    static final String[] SOURCES = {"Salary", "Freelance", "Investments", "Gift", "Other"};
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark User");
+        user.setEmail("bench@example.com");
+        return user;
+    }
+
+    static LocalDate dateOf(long id) {
+        return FIRST_DATE.plusDays((id - 1) / 50);
+    }
+
+    // Rows as the repositories return them: DTO projections
+    static ExpenseResponse expense(long id) {
+        return new ExpenseResponse(id, "Expense " + id, 10 + (id % 500) * 1.25,
+                CATEGORIES[(int) (id % CATEGORIES.length)], dateOf(id));
+    }
+
+    static IncomeResponse income(long id) {
+        return new IncomeResponse(id, "Income " + id, 1000 + (id % 50) * 10.0,
+                SOURCES[(int) (id % SOURCES.length)], dateOf(id));
+    }
+
+    // Ids strictly below afterId (capped at total), newest first
+    static long firstIdAfter(Long afterId, long total) {
+        return Math.min(total, afterId - 1);
+    }
+
+    static List<ExpenseResponse> expenses(long fromId, int count) {
+        List<ExpenseResponse> page = new ArrayList<>(count);
+        for (long id = fromId; id > 0 && page.size() < count; id--) {
+            page.add(expense(id));
+        }
+        return page;
+    }
+
+    static List<IncomeResponse> incomes(long fromId, int count) {
+        List<IncomeResponse> page = new ArrayList<>(count);
+        for (long id = fromId; id > 0 && page.size() < count; id--) {
+            page.add(income(id));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.service.RecurrenceRule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Catching a series up after downtime. incrementDueDate was replaced by RecurrenceRule:
+// the recurring job walks occurrences with nextAfter (one per generated expense), while the
+// forecast counts them in closed form with countBetween.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    @Param({"DAILY", "WEEKLY", "MONTHLY", "MONTHLY_NTH_WEEKDAY", "YEARLY"})
+    public String frequency;
+
+    @Param({"30", "3650"})
+    public int backlogDays;
+
+    private RecurrenceRule rule;
+    private LocalDate anchor;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        rule = RecurrenceRule.of(frequency);
+        today = LocalDate.of(2026, 10, 18);
+        anchor = today.minusDays(backlogDays);
+    }
+
+    @Benchmark
+    public void catchUpLoop(Blackhole blackhole) {
+        LocalDate dueDate = anchor;
+        while (!dueDate.isAfter(today)) {
+            blackhole.consume(dueDate);
+            dueDate = rule.nextAfter(anchor, dueDate);
+        }
+        blackhole.consume(dueDate);
+    }
+
+    @Benchmark
+    public long countClosedForm() {
+        return rule.countBetween(anchor, anchor, today);
+    }
+}
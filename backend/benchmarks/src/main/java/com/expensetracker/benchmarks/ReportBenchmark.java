@@ -0,0 +1,67 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.IncomeRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.MonthlyRollupService;
+import com.expensetracker.service.ReportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Full Excel export (ReportService.generateExcelReport) for a user with `rows` expenses and
+// rows / 10 incomes. Keyset pages are generated on demand, so the fixture itself adds no heap;
+// the fork runs with a 1 GB heap to catch regressions back to whole-report buffering.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class ReportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.user();
+        long expenseRows = rows;
+        long incomeRows = Math.max(1, rows / 10);
+
+        UserRepository userRepository = Stubs.of(UserRepository.class)
+                .on("findById", args -> Optional.of(user))
+                .build();
+        ExpenseRepository expenseRepository = Stubs.of(ExpenseRepository.class)
+                .on("findPage", args -> Fixtures.expenses(
+                        Fixtures.firstIdAfter((Long) args[3], expenseRows), ((Pageable) args[4]).getPageSize()))
+                .build();
+        IncomeRepository incomeRepository = Stubs.of(IncomeRepository.class)
+                .on("findPage", args -> Fixtures.incomes(
+                        Fixtures.firstIdAfter((Long) args[3], incomeRows), ((Pageable) args[4]).getPageSize()))
+                .build();
+        BudgetRepository budgetRepository = Stubs.of(BudgetRepository.class)
+                .on("findByUserIdAndMonthAndYear", args -> Optional.empty())
+                .build();
+        MonthlyRollupRepository rollupRepository = Stubs.of(MonthlyRollupRepository.class)
+                .on("getTotalByMonth", args -> 0.0)
+                .build();
+
+        reportService = new ReportService(userRepository, incomeRepository, expenseRepository,
+                budgetRepository, new MonthlyRollupService(rollupRepository), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public byte[] generateExcelReport() throws IOException {
+        return reportService.generateExcelReport(1L);
+    }
+}
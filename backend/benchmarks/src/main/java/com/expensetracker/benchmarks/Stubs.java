@@ -0,0 +1,53 @@
+package com.expensetracker.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// In-memory stand-ins for Spring Data repositories (and other interfaces), so the services
+// can be benchmarked without a database or a Spring context.
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    static final class Builder<T> {
+        private final Class<T> type;
+        private final Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        // Answers every overload of the named method
+        Builder<T> on(String method, Function<Object[], Object> handler) {
+            handlers.put(method, handler);
+            return this;
+        }
+
+        T build() {
+            Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Function<Object[], Object> handler = handlers.get(method.getName());
+                if (handler != null) {
+                    return handler.apply(args);
+                }
+                switch (method.getName()) {
+                    case "toString":
+                        return "Stub(" + type.getSimpleName() + ")";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+                }
+            });
+            return type.cast(stub);
+        }
+    }
+}
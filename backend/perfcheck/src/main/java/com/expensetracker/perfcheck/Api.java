@@ -0,0 +1,96 @@
+package com.expensetracker.perfcheck;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// Thin HTTP client for the running backend; every response carries the SQL profile headers
+final class Api {
+
+    static final ObjectMapper JSON = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+
+    Api(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    Response send(String method, String path, String contentType, byte[] body) {
+        return send(method, path, contentType, body, null);
+    }
+
+    Response send(String method, String path, String contentType, byte[] body, String ifNoneMatch) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(2));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        if (body != null) {
+            request.header("Content-Type", contentType);
+            request.method(method, HttpRequest.BodyPublishers.ofByteArray(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return new Response(response.statusCode(), response.body(), millis,
+                    header(response, "X-SQL-Count"), header(response, "X-SQL-Time-Ms"),
+                    response.headers().firstValue("ETag").orElse(null));
+        } catch (IOException e) {
+            throw new RuntimeException(method + " " + path + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted", e);
+        }
+    }
+
+    Response get(String path) {
+        return send("GET", path, null, null);
+    }
+
+    // Conditional GET with the ETag of an earlier response
+    Response get(String path, String ifNoneMatch) {
+        return send("GET", path, null, null, ifNoneMatch);
+    }
+
+    Response post(String path, Object body) {
+        return send("POST", path, "application/json", toJson(body));
+    }
+
+    static byte[] toJson(Object body) {
+        try {
+            return JSON.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int header(HttpResponse<?> response, String name) {
+        return response.headers().firstValue(name).map(Integer::parseInt).orElse(-1);
+    }
+
+    record Response(int status, byte[] body, long millis, int sqlCount, int sqlMillis, String etag) {
+
+        JsonNode json() {
+            try {
+                return JSON.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Response is not JSON: " + text());
+            }
+        }
+
+        String text() {
+            return new String(body);
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.expensetracker.perfcheck;
+
+import com.expensetracker.dto.BudgetRequest;
+import com.expensetracker.dto.ExpenseRequest;
+import com.expensetracker.dto.IncomeRequest;
+import com.expensetracker.dto.LoginRequest;
+import com.expensetracker.dto.RecurringExpenseRequest;
+import com.expensetracker.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// One check per endpoint: the response must be correct, and the request must stay within
+// its SQL statement budget (X-SQL-Count) and latency budget. Reads are repeated and judged
+// on the worst statement count (the cold, uncached call) and the median latency.
+final class Checks {
+
+    private static final int WARMUP = 3;
+    private static final int MEASURED = 10;
+
+    private final Api api;
+    private final Dataset data;
+    private final double latencyFactor;
+    private final List<Result> results = new ArrayList<>();
+
+    Checks(Api api, Dataset data, double latencyFactor) {
+        this.api = api;
+        this.data = data;
+        this.latencyFactor = latencyFactor;
+    }
+
+    List<Result> results() {
+        return results;
+    }
+
+    void run() {
+        long userId = data.userId();
+        String user = "?userId=" + userId;
+        LocalDate monthStart = data.today.withDayOfMonth(1);
+
+        // ===== Reads =====
+
+        read("GET /api/dashboard", "/api/dashboard" + user, 10, 300, r -> {
+            JsonNode json = r.json();
+            expectClose(json.get("totalExpense").asDouble(), data.expenseTotal, "totalExpense");
+            expectClose(json.get("totalIncome").asDouble(), data.incomeTotal, "totalIncome");
+            expect(json.get("recentTransactions").size() > 0, "recentTransactions is empty");
+            expectClose(json.get("currentBudget").get("monthlyLimit").asDouble(), data.budgetLimit, "currentBudget.monthlyLimit");
+        });
+
+        int inMonth = data.expenseCountByDate.entrySet().stream()
+                .filter(e -> !e.getKey().isBefore(monthStart)).mapToInt(Map.Entry::getValue).sum();
+        read("GET /api/expenses (date range)", "/api/expenses" + user + "&startDate=" + monthStart + "&endDate=" + data.today,
+                2, 200, r -> expect(r.json().size() == inMonth, "expected " + inMonth + " expenses, got " + r.json().size()));
+
+        Api.Response firstPage = read("GET /api/expenses (keyset page)", "/api/expenses" + user + "&limit=50", 2, 150, r -> {
+            expect(r.json().get("items").size() == 50, "page size is not 50");
+            expect(!r.json().get("nextCursor").isNull(), "nextCursor is missing");
+        });
+        String cursor = firstPage.json().get("nextCursor").asText();
+        read("GET /api/expenses (next page)", "/api/expenses" + user + "&limit=50&cursor=" + cursor, 2, 150, r -> {
+            Set<Long> seen = ids(firstPage.json().get("items"));
+            for (JsonNode item : r.json().get("items")) {
+                expect(!seen.contains(item.get("id").asLong()), "next page repeats id " + item.get("id"));
+            }
+        });
+
+        read("GET /api/expenses/monthly-summary", "/api/expenses/monthly-summary" + user, 2, 100,
+                r -> expectClose(sum(r.json()), data.expenseTotal, "monthly summary total"));
+        read("GET /api/expenses/category-summary", "/api/expenses/category-summary" + user, 2, 100, r -> {
+            expect(r.json().size() == Dataset.CATEGORIES.length, "expected one row per category");
+            for (JsonNode row : r.json()) {
+                expectClose(row.get("total").asDouble(), data.expenseByCategory.get(row.get("category").asText()),
+                        "category " + row.get("category"));
+            }
+        });
+
+        int incomeRows = data.today.getMonthValue() * Dataset.SOURCES.length;
+        read("GET /api/incomes", "/api/incomes" + user, 2, 150,
+                r -> expect(r.json().size() == incomeRows, "expected " + incomeRows + " incomes"));
+        read("GET /api/incomes (keyset page)", "/api/incomes" + user + "&limit=10", 2, 150,
+                r -> expect(r.json().get("items").size() == Math.min(10, incomeRows), "wrong income page size"));
+        read("GET /api/incomes/monthly-summary", "/api/incomes/monthly-summary" + user, 2, 100,
+                r -> expectClose(sum(r.json()), data.incomeTotal, "income monthly summary total"));
+        read("GET /api/incomes/source-summary", "/api/incomes/source-summary" + user, 2, 100,
+                r -> expect(r.json().size() == Dataset.SOURCES.length, "expected one row per source"));
+
+        // Top balance is everything ever earned minus spent; each row steps back over the one above
+        Api.Response ledgerPage = read("GET /api/ledger (first page)", "/api/ledger" + user + "&limit=50", 4, 150, r -> {
+            expect(r.json().get("items").size() == 50, "page size is not 50");
+            expect(!r.json().get("nextCursor").isNull(), "nextCursor is missing");
+            expectLedger(r.json().get("items"), data.incomeTotal - data.expenseTotal);
+        });
+        JsonNode ledgerItems = ledgerPage.json().get("items");
+        String ledgerCursor = ledgerPage.json().get("nextCursor").asText();
+        read("GET /api/ledger (next page)", "/api/ledger" + user + "&limit=50&cursor=" + ledgerCursor, 3, 150, r -> {
+            JsonNode last = ledgerItems.get(ledgerItems.size() - 1);
+            Set<String> seen = new HashSet<>();
+            for (JsonNode item : ledgerItems) {
+                seen.add(item.get("type").asText() + item.get("id").asLong());
+            }
+            for (JsonNode item : r.json().get("items")) {
+                expect(!seen.contains(item.get("type").asText() + item.get("id").asLong()), "next page repeats " + item);
+            }
+            expectLedger(r.json().get("items"), balanceBefore(last));
+        });
+
+        read("GET /api/budgets", "/api/budgets" + user, 3, 100, r -> expect(r.json().size() == 1, "expected one budget"));
+        read("GET /api/budgets/current", "/api/budgets/current" + user, 3, 100,
+                r -> expectClose(r.json().get("monthlyLimit").asDouble(), data.budgetLimit, "current budget"));
+
+        read("GET /api/recurring", "/api/recurring" + user, 2, 100,
+                r -> expect(r.json().size() == Dataset.RECURRING_PER_USER, "expected " + Dataset.RECURRING_PER_USER + " series"));
+        read("GET /api/forecast", "/api/forecast" + user + "&months=3", 4, 200, r -> {
+            expect(r.json().get("months").size() == 4, "expected this month plus 3");
+            expectClose(r.json().get("months").get(0).get("budgetLimit").asDouble(), data.budgetLimit, "current month limit");
+        });
+        // Same statement count at the longest horizon: budgets come from one range query
+        read("GET /api/forecast (24 months)", "/api/forecast" + user + "&months=24", 4, 200,
+                r -> expect(r.json().get("months").size() == 25, "expected this month plus 24"));
+
+        read("GET /api/reports/export", "/api/reports/export" + user, 3, 1500, r -> {
+            expect(r.body().length > 1000, "report is suspiciously small");
+            expect(r.body()[0] == 'P' && r.body()[1] == 'K', "report is not an xlsx (zip) file");
+        });
+
+        read("GET /api/cache/stats", "/api/cache/stats", 0, 50, r -> expect(r.json().has("hitRate"), "hitRate missing"));
+        read("GET /api/import/jobs", "/api/import/jobs" + user, 0, 50, r -> expect(r.json().isArray(), "not a list"));
+        read("GET /api/recurring/runs", "/api/recurring/runs", 0, 50, r -> expect(r.json().isArray(), "not a list"));
+        read("GET /actuator/health", "/actuator/health", 1, 100, r -> expect(r.text().contains("UP"), "not UP"));
+
+        int allExpenses = data.expenseCountByDate.values().stream().mapToInt(Integer::intValue).sum();
+        Api.Response snapshot = read("GET /api/sync (full snapshot)", "/api/sync" + user, 6, 600, r -> {
+            expect(r.json().get("reset").asBoolean(), "first sync is not a reset");
+            expect(r.json().get("expenses").size() == allExpenses,
+                    "expected " + allExpenses + " expenses, got " + r.json().get("expenses").size());
+        });
+        String syncToken = snapshot.json().get("token").asText();
+
+        // ===== Conditional GETs: an unchanged user's ETag gets 304 from the version lookup alone =====
+
+        String dashboardEtag = notModified("GET /api/dashboard (If-None-Match)", "/api/dashboard" + user, 1, 50);
+        notModified("GET /api/expenses (If-None-Match)", "/api/expenses" + user + "&limit=50", 1, 50);
+        notModified("GET /api/budgets/current (If-None-Match)", "/api/budgets/current" + user, 1, 50);
+
+        // ===== Writes =====
+
+        write("POST /api/auth/register", "POST", "/api/auth/register",
+                json(new RegisterRequest("Check", "perf-check@example.com", "secret123")), 3, 300, null);
+        write("POST /api/auth/login", "POST", "/api/auth/login",
+                json(new LoginRequest("perf-check@example.com", "secret123")), 1, 300,
+                r -> expect(r.json().has("id"), "login returned no id"));
+
+        Api.Response expense = write("POST /api/expenses", "POST", "/api/expenses" + user,
+                json(new ExpenseRequest("Check", 12.5, "Food", data.today)), 6, 150, null);
+        long expenseId = expense.json().get("id").asLong();
+        write("PUT /api/expenses/{id}", "PUT", "/api/expenses/" + expenseId + user,
+                json(new ExpenseRequest("Check", 20.0, "Bills", data.today)), 4, 150,
+                r -> expectClose(r.json().get("amount").asDouble(), 20.0, "updated amount"));
+        write("DELETE /api/expenses/{id}", "DELETE", "/api/expenses/" + expenseId + user, null, 3, 150, null);
+
+        List<ExpenseRequest> expenseBatch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expenseBatch.add(new ExpenseRequest("Batch " + i, 2.5, Dataset.CATEGORIES[i % Dataset.CATEGORIES.length],
+                    data.today.minusDays(i % 20)));
+        }
+        write("POST /api/expenses/batch (500)", "POST", "/api/expenses/batch" + user, json(expenseBatch), 40, 1000,
+                r -> expect(r.json().get("created").asInt() == 500, "batch created " + r.json().get("created")));
+
+        Api.Response income = write("POST /api/incomes", "POST", "/api/incomes" + user,
+                json(new IncomeRequest("Check", 100.0, "Gift", data.today)), 6, 150, null);
+        long incomeId = income.json().get("id").asLong();
+        write("PUT /api/incomes/{id}", "PUT", "/api/incomes/" + incomeId + user,
+                json(new IncomeRequest("Check", 150.0, "Gift", data.today)), 4, 150, null);
+        write("DELETE /api/incomes/{id}", "DELETE", "/api/incomes/" + incomeId + user, null, 3, 150, null);
+        List<IncomeRequest> incomeBatch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            incomeBatch.add(new IncomeRequest("Batch " + i, 10.0, "Freelance", data.today.minusDays(i % 20)));
+        }
+        write("POST /api/incomes/batch (100)", "POST", "/api/incomes/batch" + user, json(incomeBatch), 10, 500,
+                r -> expect(r.json().get("created").asInt() == 100, "batch created " + r.json().get("created")));
+
+        Api.Response budget = write("POST /api/budgets", "POST", "/api/budgets" + user,
+                json(new BudgetRequest(800.0, 1, data.today.getYear() + 1)), 3, 150, null);
+        long budgetId = budget.json().get("id").asLong();
+        write("POST /api/budgets (same month)", "POST", "/api/budgets" + user,
+                json(new BudgetRequest(900.0, 1, data.today.getYear() + 1)), 3, 150,
+                r -> expect(r.json().get("id").asLong() == budgetId, "second budget for the same month was inserted"));
+        write("DELETE /api/budgets/{id}", "DELETE", "/api/budgets/" + budgetId + user, null, 2, 150, null);
+
+        Api.Response series = write("POST /api/recurring", "POST", "/api/recurring" + user,
+                json(new RecurringExpenseRequest("Gym", 30.0, "Health", "MONTHLY", data.today.plusDays(5))), 4, 150, null);
+        long seriesId = series.json().get("id").asLong();
+        write("PUT /api/recurring/{id}", "PUT", "/api/recurring/" + seriesId + user,
+                json(new RecurringExpenseRequest("Gym", 35.0, "Health", "WEEKLY", data.today.plusDays(5))), 2, 150,
+                r -> expect(r.json().get("frequency").asText().equals("WEEKLY"), "frequency not updated"));
+        write("PATCH /api/recurring/{id}/active", "PATCH", "/api/recurring/" + seriesId + "/active" + user + "&active=false",
+                null, 2, 150, r -> expect(!r.json().get("active").asBoolean(), "series still active"));
+        write("DELETE /api/recurring/{id}", "DELETE", "/api/recurring/" + seriesId + user, null, 2, 150, null);
+
+        // Only what the writes above touched: the batches, and the deletes as tombstones
+        read("GET /api/sync (delta)", "/api/sync" + user + "&since=" + syncToken, 7, 150, r -> {
+            JsonNode json = r.json();
+            expect(!json.get("reset").asBoolean(), "delta sync answered a reset");
+            expect(json.get("expenses").size() == expenseBatch.size(), "expected the " + expenseBatch.size()
+                    + " batch expenses, got " + json.get("expenses").size());
+            expect(json.get("incomes").size() == incomeBatch.size(), "expected the " + incomeBatch.size()
+                    + " batch incomes, got " + json.get("incomes").size());
+            expect(longs(json.get("deleted").get("expenses")).contains(expenseId), "expense delete missing");
+            expect(longs(json.get("deleted").get("incomes")).contains(incomeId), "income delete missing");
+            expect(longs(json.get("deleted").get("budgets")).contains(budgetId), "budget delete missing");
+            expect(longs(json.get("deleted").get("recurring")).contains(seriesId), "recurring delete missing");
+        });
+
+        StringBuilder csv = new StringBuilder("Date,Description,Amount,Category\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append(data.today.minusDays(i % 30)).append(",Imported ").append(i).append(",").append(1 + i % 50)
+                    .append(",").append(Dataset.CATEGORIES[i % Dataset.CATEGORIES.length]).append('\n');
+        }
+        write("POST /api/import/csv (2000 rows)", "POST",
+                "/api/import/csv" + user + "&type=EXPENSE&titleColumn=Description&amountColumn=Amount&dateColumn=Date&labelColumn=Category",
+                "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8), 150, 3000,
+                r -> expect(r.json().get("rowsImported").asInt() == 2000, "imported " + r.json().get("rowsImported")));
+
+        int overdue = data.userIds.size() * ((Dataset.RECURRING_PER_USER + 1) / 2);
+        write("POST /api/recurring/process-due", "POST", "/api/recurring/process-due", null, 45, 3000, r -> {
+            expect(r.json().get("seriesProcessed").asInt() >= overdue, "processed " + r.json().get("seriesProcessed")
+                    + " series, expected at least " + overdue);
+            expect(r.json().get("createdExpenses").asInt() >= overdue, "no expenses created");
+        });
+
+        // ===== Consistency after writes: the old ETag is stale, rollup-backed totals equal the raw rows =====
+
+        Api.Response changed = api.get("/api/dashboard" + user, dashboardEtag);
+        String stale = null;
+        try {
+            expectStatus(changed, 200);
+            expect(changed.etag() != null && !changed.etag().equals(dashboardEtag), "ETag did not change after writes");
+        } catch (RuntimeException e) {
+            stale = e.getMessage();
+        }
+        record("GET /api/dashboard (ETag after writes)", changed.sqlCount(), 11, changed.millis(), 300, stale);
+
+        read("GET /api/expenses (all rows)", "/api/expenses" + user, 2, 1000, r -> {
+            double raw = 0;
+            for (JsonNode row : r.json()) {
+                raw += row.get("amount").asDouble();
+            }
+            double rawTotal = raw;
+            Api.Response dashboard = api.get("/api/dashboard" + user);
+            expectClose(dashboard.json().get("totalExpense").asDouble(), rawTotal, "dashboard total vs. raw expenses");
+        });
+    }
+
+    // Against a backend reading from one streaming replica. routed is db.replica.routed, the
+    // connections the replica has handed out; stopReplica shuts the replica down.
+    void runReplicaRouting(LongSupplier routed, Runnable stopReplica) {
+        long userId = data.userId();
+        long otherUserId = data.userIds.get(1);
+        String page = "/api/expenses?userId=" + userId + "&limit=50";
+        String otherPage = "/api/expenses?userId=" + otherUserId + "&limit=50";
+        for (int i = 0; i < WARMUP; i++) {
+            api.get(otherPage);
+        }
+
+        routedGet("GET /api/expenses (replica)", page, routed, true, 2, 150,
+                r -> expect(r.json().get("items").size() == 50, "page size is not 50"));
+
+        Api.Response expense = write("POST /api/expenses (primary)", "POST", "/api/expenses?userId=" + userId,
+                json(new ExpenseRequest("Replica check", 12.5, "Food", data.today)), 6, 150, null);
+        long expenseId = expense.json().get("id").asLong();
+        // Read-your-writes: the replica may not have replayed the insert yet
+        routedGet("GET /api/expenses (after own write)", page, routed, false, 2, 150,
+                r -> expect(r.json().get("items").get(0).get("id").asLong() == expenseId, "new expense is not on top"));
+        routedGet("GET /api/expenses (other user)", otherPage, routed, true, 2, 150,
+                r -> expect(r.json().get("items").size() == 50, "page size is not 50"));
+
+        stopReplica.run();
+        // The first read waits out the replica's connection timeout, then takes it out of rotation
+        routedGet("GET /api/expenses (replica down)", otherPage, routed, false, 2, 3000,
+                r -> expect(r.json().get("items").size() == 50, "page size is not 50"));
+        routedGet("GET /api/expenses (after failover)", otherPage, routed, false, 2, 150,
+                r -> expect(r.json().get("items").size() == 50, "page size is not 50"));
+    }
+
+    // One GET and where it ran: on the replica, db.replica.routed grows by exactly one connection
+    // (open-in-view holds it from the ETag lookup through the body); on the primary, not at all
+    private void routedGet(String name, String path, LongSupplier routed, boolean onReplica, int maxSql, long maxMillis,
+                           Consumer<Api.Response> verify) {
+        long before = routed.getAsLong();
+        Api.Response response = api.get(path);
+        long replicaConnections = routed.getAsLong() - before;
+        String failure = null;
+        try {
+            expectStatus(response, 200);
+            expect(replicaConnections == (onReplica ? 1 : 0), "took " + replicaConnections
+                    + " replica connection(s), expected " + (onReplica ? "1" : "none"));
+            verify.accept(response);
+        } catch (RuntimeException e) {
+            failure = e.getMessage();
+        }
+        record(name, response.sqlCount(), maxSql, response.millis(), maxMillis, failure);
+    }
+
+    private Api.Response read(String name, String path, int maxSql, long maxMillis, Consumer<Api.Response> verify) {
+        Api.Response first = null;
+        int worstSql = 0;
+        long[] millis = new long[MEASURED];
+        String failure = null;
+        try {
+            for (int i = 0; i < WARMUP + MEASURED; i++) {
+                Api.Response response = api.get(path);
+                expectStatus(response, 200);
+                if (first == null) {
+                    first = response;
+                    verify.accept(response);
+                }
+                worstSql = Math.max(worstSql, response.sqlCount());
+                if (i >= WARMUP) {
+                    millis[i - WARMUP] = response.millis();
+                }
+            }
+        } catch (RuntimeException e) {
+            failure = e.getMessage();
+        }
+        Arrays.sort(millis);
+        record(name, worstSql, maxSql, millis[MEASURED / 2], maxMillis, failure);
+        return first;
+    }
+
+    // Revalidates with the ETag of a first full response; every repeat must be an empty 304
+    private String notModified(String name, String path, int maxSql, long maxMillis) {
+        String etag = null;
+        int worstSql = 0;
+        long[] millis = new long[MEASURED];
+        String failure = null;
+        try {
+            Api.Response full = api.get(path);
+            expectStatus(full, 200);
+            etag = full.etag();
+            expect(etag != null, "no ETag header");
+            for (int i = 0; i < WARMUP + MEASURED; i++) {
+                Api.Response response = api.get(path, etag);
+                expectStatus(response, 304);
+                expect(response.body().length == 0, "304 with a body");
+                worstSql = Math.max(worstSql, response.sqlCount());
+                if (i >= WARMUP) {
+                    millis[i - WARMUP] = response.millis();
+                }
+            }
+        } catch (RuntimeException e) {
+            failure = e.getMessage();
+        }
+        Arrays.sort(millis);
+        record(name, worstSql, maxSql, millis[MEASURED / 2], maxMillis, failure);
+        return etag;
+    }
+
+    private Api.Response write(String name, String method, String path, byte[] body, int maxSql, long maxMillis,
+                               Consumer<Api.Response> verify) {
+        return write(name, method, path, "application/json", body, maxSql, maxMillis, verify);
+    }
+
+    private Api.Response write(String name, String method, String path, String contentType, byte[] body,
+                               int maxSql, long maxMillis, Consumer<Api.Response> verify) {
+        Api.Response response = api.send(method, path, contentType, body);
+        String failure = null;
+        try {
+            expectStatus(response, 200);
+            if (verify != null) {
+                verify.accept(response);
+            }
+        } catch (RuntimeException e) {
+            failure = e.getMessage();
+        }
+        record(name, response.sqlCount(), maxSql, response.millis(), maxMillis, failure);
+        return response;
+    }
+
+    private void record(String name, int sql, int maxSql, long millis, long maxMillis, String failure) {
+        long budget = Math.round(maxMillis * latencyFactor);
+        if (failure == null && sql < 0) {
+            failure = "no X-SQL-Count header (is app.sql-profiling.enabled off?)";
+        } else if (failure == null && sql > maxSql) {
+            failure = "ran " + sql + " SQL statements, budget is " + maxSql;
+        } else if (failure == null && millis > budget) {
+            failure = "took " + millis + " ms, budget is " + budget + " ms";
+        }
+        results.add(new Result(name, sql, maxSql, millis, budget, failure));
+    }
+
+    static void expectStatus(Api.Response response, int status) {
+        if (response.status() != status) {
+            String text = response.text();
+            throw new IllegalStateException("HTTP " + response.status() + ": " + text.substring(0, Math.min(200, text.length())));
+        }
+    }
+
+    private static void expect(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private static void expectClose(double actual, double expected, String what) {
+        expect(Math.abs(actual - expected) < 0.005, what + " is " + actual + ", expected " + expected);
+    }
+
+    // Entries are newest first and each balance follows from the entry above it
+    private static void expectLedger(JsonNode items, double topBalance) {
+        double balance = topBalance;
+        String previousDate = null;
+        for (JsonNode item : items) {
+            String date = item.get("date").asText();
+            expect(previousDate == null || date.compareTo(previousDate) <= 0, "ledger out of order at " + item);
+            expectClose(item.get("balance").asDouble(), balance, "balance of " + item.get("type").asText() + " " + item.get("id"));
+            balance = balanceBefore(item);
+            previousDate = date;
+        }
+    }
+
+    private static double balanceBefore(JsonNode entry) {
+        double amount = entry.get("amount").asDouble();
+        return entry.get("balance").asDouble() + ("Expense".equals(entry.get("type").asText()) ? amount : -amount);
+    }
+
+    private static double sum(JsonNode rows) {
+        double total = 0;
+        for (JsonNode row : rows) {
+            total += row.get("total").asDouble();
+        }
+        return total;
+    }
+
+    private static Set<Long> ids(JsonNode items) {
+        Set<Long> ids = new HashSet<>();
+        for (JsonNode item : items) {
+            ids.add(item.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static Set<Long> longs(JsonNode values) {
+        Set<Long> longs = new HashSet<>();
+        for (JsonNode value : values) {
+            longs.add(value.asLong());
+        }
+        return longs;
+    }
+
+    private static byte[] json(Object body) {
+        return Api.toJson(body);
+    }
+
+    record Result(String name, int sql, int maxSql, long millis, long maxMillis, String failure) {
+    }
+}
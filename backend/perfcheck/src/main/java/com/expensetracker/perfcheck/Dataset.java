@@ -0,0 +1,112 @@
+package com.expensetracker.perfcheck;
+
+import com.expensetracker.dto.BudgetRequest;
+import com.expensetracker.dto.ExpenseRequest;
+import com.expensetracker.dto.IncomeRequest;
+import com.expensetracker.dto.LoginRequest;
+import com.expensetracker.dto.RecurringExpenseRequest;
+import com.expensetracker.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Synthetic multi-user dataset, seeded through the public API so rollups and caches are
+// maintained exactly as in production. Amounts are multiples of 0.25, so the expected
+// totals kept here are exact in double arithmetic.
+final class Dataset {
+
+    static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Bills", "Entertainment", "Health"};
+    static final String[] SOURCES = {"Salary", "Freelance"};
+    static final int RECURRING_PER_USER = 5;
+
+    private static final int BATCH_SIZE = 1000;
+
+    final LocalDate today = LocalDate.now();
+    final LocalDate yearStart = today.withDayOfYear(1);
+    final List<Long> userIds = new ArrayList<>();
+
+    // Expectations for the first user, which the checks run against
+    double expenseTotal;
+    double incomeTotal;
+    final Map<String, Double> expenseByCategory = new LinkedHashMap<>();
+    final Map<LocalDate, Integer> expenseCountByDate = new LinkedHashMap<>();
+    double budgetLimit;
+
+    long userId() {
+        return userIds.get(0);
+    }
+
+    void seed(Api api, int users, int expensesPerUser) {
+        for (int u = 0; u < users; u++) {
+            long userId = register(api, "perf" + u + "@example.com");
+            userIds.add(userId);
+            boolean tracked = u == 0;
+
+            List<ExpenseRequest> expenses = new ArrayList<>(BATCH_SIZE);
+            int days = today.getDayOfYear();
+            for (int i = 0; i < expensesPerUser; i++) {
+                LocalDate date = yearStart.plusDays((i * 7L + u) % days);
+                String category = CATEGORIES[(i + u) % CATEGORIES.length];
+                double amount = 1 + (i % 97) + (i % 4) * 0.25;
+                expenses.add(new ExpenseRequest("Expense " + i, amount, category, date));
+                if (tracked) {
+                    expenseTotal += amount;
+                    expenseByCategory.merge(category, amount, Double::sum);
+                    expenseCountByDate.merge(date, 1, Integer::sum);
+                }
+                if (expenses.size() == BATCH_SIZE || i == expensesPerUser - 1) {
+                    postBatch(api, "/api/expenses/batch?userId=" + userId, expenses);
+                    expenses.clear();
+                }
+            }
+
+            List<IncomeRequest> incomes = new ArrayList<>();
+            for (int m = 1; m <= today.getMonthValue(); m++) {
+                for (int s = 0; s < SOURCES.length; s++) {
+                    double amount = 3000 + u * 10 + s * 500.5;
+                    incomes.add(new IncomeRequest(SOURCES[s] + " " + m, amount, SOURCES[s], LocalDate.of(today.getYear(), m, 1)));
+                    if (tracked) {
+                        incomeTotal += amount;
+                    }
+                }
+            }
+            postBatch(api, "/api/incomes/batch?userId=" + userId, incomes);
+
+            double limit = 5000 + u * 100;
+            Checks.expectStatus(api.post("/api/budgets?userId=" + userId,
+                    new BudgetRequest(limit, today.getMonthValue(), today.getYear())), 200);
+            if (tracked) {
+                budgetLimit = limit;
+            }
+
+            // Half of the series are overdue so process-due has work to do
+            String[] frequencies = {"MONTHLY", "WEEKLY", "YEARLY", "BIWEEKLY", "MONTHLY_NTH_WEEKDAY"};
+            for (int r = 0; r < RECURRING_PER_USER; r++) {
+                LocalDate nextDue = r % 2 == 0 ? today.minusDays(10 + r) : today.plusDays(3 + r);
+                Checks.expectStatus(api.post("/api/recurring?userId=" + userId, new RecurringExpenseRequest(
+                        "Subscription " + r, 9.75 + r, CATEGORIES[r % CATEGORIES.length], frequencies[r], nextDue)), 200);
+            }
+        }
+    }
+
+    private static long register(Api api, String email) {
+        Checks.expectStatus(api.post("/api/auth/register", new RegisterRequest("Perf User", email, "secret123")), 200);
+        Api.Response login = api.post("/api/auth/login", new LoginRequest(email, "secret123"));
+        Checks.expectStatus(login, 200);
+        return login.json().get("id").asLong();
+    }
+
+    private static void postBatch(Api api, String path, List<?> rows) {
+        Api.Response response = api.post(path, rows);
+        Checks.expectStatus(response, 200);
+        JsonNode result = response.json();
+        if (result.get("created").asInt() != rows.size()) {
+            throw new IllegalStateException("Seeding " + path + " created " + result.get("created")
+                    + " of " + rows.size() + " rows: " + result.get("errors"));
+        }
+    }
+}
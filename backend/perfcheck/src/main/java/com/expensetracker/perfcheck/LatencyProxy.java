@@ -0,0 +1,82 @@
+package com.expensetracker.perfcheck;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+// TCP forwarder in front of PostgreSQL that delays every client-to-server write by a fixed
+// latency, so each statement round trip costs at least that much: a "slow database" for the
+// load test. One pair of pump threads per connection; the Hikari pool opens only a handful.
+final class LatencyProxy implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final int targetPort;
+    private final long latencyMs;
+
+    LatencyProxy(int targetPort, long latencyMs) throws IOException {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.targetPort = targetPort;
+        this.latencyMs = latencyMs;
+        daemon("proxy-accept", this::acceptLoop);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                Socket target = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+                client.setTcpNoDelay(true);
+                target.setTcpNoDelay(true);
+                daemon("proxy-up", () -> pump(client, target, latencyMs));
+                daemon("proxy-down", () -> pump(target, client, 0));
+            } catch (IOException e) {
+                // Closed while accepting
+            }
+        }
+    }
+
+    private static void pump(Socket from, Socket to, long delayMs) {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // Either side hung up
+        } finally {
+            closeQuietly(from);
+            closeQuietly(to);
+        }
+    }
+
+    private static void daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+}
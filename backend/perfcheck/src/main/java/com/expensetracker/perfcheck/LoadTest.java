@@ -0,0 +1,143 @@
+package com.expensetracker.perfcheck;
+
+import com.expensetracker.dto.ExpenseRequest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Throughput and tail latency of the two request execution modes under the same load: boots the
+// backend on an embedded PostgreSQL behind LatencyProxy (every statement round trip is slowed by
+// load.db-latency-ms), once on platform threads and once with spring.threads.virtual.enabled,
+// and drives each with load.clients closed-loop clients for load.seconds. The virtual-thread run
+// is skipped on a JVM older than 21. Clients share the JVM with the backend, so compare the two
+// rows with each other rather than against production numbers.
+public final class LoadTest {
+
+    private static final String[] CATEGORIES = Dataset.CATEGORIES;
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 10);
+        int expensesPerUser = Integer.getInteger("load.expenses-per-user", 1000);
+        int clients = Integer.getInteger("load.clients", 400);
+        int seconds = Integer.getInteger("load.seconds", 20);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 5);
+        long dbLatencyMs = Long.getLong("load.db-latency-ms", 5);
+
+        List<Result> results = new ArrayList<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().setServerConfig("timezone", "UTC").start();
+             LatencyProxy proxy = new LatencyProxy(postgres.getPort(), dbLatencyMs)) {
+            String jdbcUrl = "jdbc:postgresql://localhost:" + proxy.port() + "/postgres";
+            Dataset data = null;
+
+            for (boolean virtual : new boolean[]{false, true}) {
+                String mode = virtual ? "virtual threads" : "platform threads";
+                if (virtual && Runtime.version().feature() < 21) {
+                    System.out.printf("Skipping %s: needs Java 21, this JVM is %s%n", mode, Runtime.version());
+                    continue;
+                }
+
+                ConfigurableApplicationContext app = PerfCheck.startBackend(jdbcUrl,
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--app.sql-profiling.enabled=false");
+                try {
+                    Api api = new Api(PerfCheck.port(app));
+                    if (data == null) {
+                        // Same database for both runs; seed once
+                        data = new Dataset();
+                        data.seed(api, users, expensesPerUser);
+                    }
+                    System.out.printf("Running %s: %d clients, %d s (+%d s warmup), DB latency %d ms%n",
+                            mode, clients, seconds, warmupSeconds, dbLatencyMs);
+                    results.add(run(mode, api, data, clients, warmupSeconds, seconds));
+                } finally {
+                    app.close();
+                }
+            }
+        }
+
+        System.out.printf("%n%-18s %9s %9s %8s %8s %8s %7s %7s%n",
+                "Mode", "Requests", "Req/s", "p50 ms", "p99 ms", "max ms", "503s", "Errors");
+        for (Result r : results) {
+            System.out.printf("%-18s %9d %9.1f %8d %8d %8d %7d %7d%n",
+                    r.mode(), r.requests(), r.throughput(), r.p50(), r.p99(), r.max(), r.rejected(), r.errors());
+        }
+        System.exit(0);
+    }
+
+    private static Result run(String mode, Api api, Dataset data, int clients, int warmupSeconds, int seconds)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        List<List<Long>> latencies = new ArrayList<>();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            List<Long> own = new ArrayList<>();
+            latencies.add(own);
+            pool.execute(() -> {
+                while (System.nanoTime() < measureTo) {
+                    boolean measured = System.nanoTime() >= measureFrom;
+                    try {
+                        Api.Response response = next(api, data);
+                        if (!measured) {
+                            continue;
+                        }
+                        own.add(response.millis());
+                        if (response.status() == 503) {
+                            rejected.incrementAndGet();
+                        } else if (response.status() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        if (measured) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + warmupSeconds + 180L, TimeUnit.SECONDS);
+
+        long[] all = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        if (all.length == 0) {
+            return new Result(mode, 0, 0, 0, 0, 0, rejected.get(), errors.get());
+        }
+        return new Result(mode, all.length, all.length / (double) seconds,
+                percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1], rejected.get(), errors.get());
+    }
+
+    // Request mix of the web client: mostly list pages and the dashboard, some new expenses
+    private static Api.Response next(Api api, Dataset data) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = data.userIds.get(random.nextInt(data.userIds.size()));
+        int pick = random.nextInt(100);
+        if (pick < 40) {
+            return api.get("/api/expenses?userId=" + userId + "&limit=50");
+        } else if (pick < 60) {
+            return api.get("/api/dashboard?userId=" + userId);
+        } else if (pick < 75) {
+            return api.get("/api/incomes?userId=" + userId + "&limit=50");
+        } else if (pick < 85) {
+            return api.get("/api/budgets/current?userId=" + userId);
+        }
+        return api.post("/api/expenses?userId=" + userId, new ExpenseRequest("Load", 1.0 + random.nextInt(100),
+                CATEGORIES[random.nextInt(CATEGORIES.length)], data.today.minusDays(random.nextInt(30))));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    record Result(String mode, int requests, double throughput, long p50, long p99, long max, int rejected, int errors) {
+    }
+}
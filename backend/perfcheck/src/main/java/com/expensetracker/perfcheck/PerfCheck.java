@@ -0,0 +1,124 @@
+package com.expensetracker.perfcheck;
+
+import com.expensetracker.ExpenseTrackerApplication;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Performance regression check: starts PostgreSQL from a bundled binary, boots the backend
+// against it on a random port, seeds a multi-user dataset and runs Checks against every
+// controller, then boots a second backend with a streaming standby as its read replica and
+// checks where its reads go (Checks.runReplicaRouting). Exits non-zero when any endpoint is wrong
+// or over its SQL/latency budget, so `mvn verify` in this module fails on a new N+1, an unindexed
+// query or a read that lands on the wrong database.
+public final class PerfCheck {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("perf.users", 10);
+        int expensesPerUser = Integer.getInteger("perf.expenses-per-user", 3000);
+        double latencyFactor = Double.parseDouble(System.getProperty("perf.latency-factor", "1"));
+
+        List<Checks.Result> results;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().setServerConfig("timezone", "UTC").start()) {
+            Dataset data = new Dataset();
+            ConfigurableApplicationContext app = startBackend(postgres.getJdbcUrl("postgres", "postgres"),
+                    "--app.sql-profiling.enabled=true");
+            try {
+                Api api = new Api(port(app));
+
+                long start = System.currentTimeMillis();
+                data.seed(api, users, expensesPerUser);
+                System.out.printf("Seeded %d users x %d expenses in %d ms%n", users, expensesPerUser,
+                        System.currentTimeMillis() - start);
+
+                Checks checks = new Checks(api, data, latencyFactor);
+                try {
+                    checks.run();
+                } catch (RuntimeException e) {
+                    // A write the later checks depend on failed; report what ran so far
+                    checks.results().add(new Checks.Result("(aborted)", 0, 0, 0, 0, e.getMessage()));
+                }
+                results = checks.results();
+            } finally {
+                app.close();
+            }
+            results.addAll(replicaRouting(postgres, data, latencyFactor));
+        }
+
+        System.exit(report(results) ? 0 : 1);
+    }
+
+    // Second backend on the seeded database, reading from a streaming standby of it
+    private static List<Checks.Result> replicaRouting(EmbeddedPostgres postgres, Dataset data, double latencyFactor)
+            throws Exception {
+        try (StandbyPostgres replica = StandbyPostgres.start(postgres)) {
+            ConfigurableApplicationContext app = startBackend(postgres.getJdbcUrl("postgres", "postgres"),
+                    "--app.sql-profiling.enabled=true",
+                    "--app.datasource.replicas.urls=" + replica.jdbcUrl(),
+                    "--app.datasource.replicas.username=postgres");
+            try {
+                MeterRegistry registry = app.getBean(MeterRegistry.class);
+                LongSupplier routed = () -> (long) registry.find("db.replica.routed").functionCounters().stream()
+                        .mapToDouble(FunctionCounter::count).sum();
+                Checks checks = new Checks(new Api(port(app)), data, latencyFactor);
+                try {
+                    checks.runReplicaRouting(routed, () -> {
+                        try {
+                            replica.stop();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    checks.results().add(new Checks.Result("(replica routing aborted)", 0, 0, 0, 0, e.getMessage()));
+                }
+                return checks.results();
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    // Boots the backend on a random port against the given database; later arguments win
+    static ConfigurableApplicationContext startBackend(String jdbcUrl, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                // Only the checks may create recurring expenses
+                "--app.recurring.reconcile-cron=-",
+                "--app.recurring.poll-interval-ms=86400000",
+                "--logging.level.root=WARN",
+                "--logging.level.com.expensetracker.config.SqlProfilingFilter=ERROR",
+                "--spring.jpa.show-sql=false"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(ExpenseTrackerApplication.class).run(args.toArray(new String[0]));
+    }
+
+    static int port(ConfigurableApplicationContext app) {
+        return app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static boolean report(List<Checks.Result> results) {
+        System.out.printf("%n%-40s %9s %13s  %s%n", "Endpoint", "SQL", "Latency (ms)", "Result");
+        int failures = 0;
+        for (Checks.Result r : results) {
+            System.out.printf("%-40s %4d/%-4d %6d/%-6d  %s%n", r.name(), r.sql(), r.maxSql(), r.millis(), r.maxMillis(),
+                    r.failure() == null ? "OK" : "FAIL: " + r.failure());
+            if (r.failure() != null) {
+                failures++;
+            }
+        }
+        System.out.printf("%n%d check(s), %d failure(s)%n", results.size(), failures);
+        return failures == 0;
+    }
+}
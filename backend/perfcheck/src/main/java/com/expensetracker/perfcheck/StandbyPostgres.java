@@ -0,0 +1,150 @@
+package com.expensetracker.perfcheck;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// A streaming hot standby of an embedded primary, for the replica routing checks. The bundled
+// binaries have no pg_basebackup, so the primary's data directory is copied between
+// pg_start_backup and pg_stop_backup on one connection (a non-exclusive base backup), and the
+// copy starts in standby mode on a physical replication slot that holds the WAL it still needs.
+final class StandbyPostgres implements AutoCloseable {
+
+    private static final String SLOT = "perfcheck_standby";
+
+    // Runtime state of the primary; the standby creates its own
+    private static final Set<String> SKIPPED_FILES = Set.of("postmaster.pid", "postmaster.opts", "epg-lock");
+    private static final Set<String> EMPTIED_DIRECTORIES = Set.of("pg_wal", "pg_replslot", "pg_stat_tmp");
+
+    private final EmbeddedPostgres primary;
+    private final Path directory;
+    private EmbeddedPostgres standby;
+
+    private StandbyPostgres(EmbeddedPostgres primary, Path directory) {
+        this.primary = primary;
+        this.directory = directory;
+    }
+
+    static StandbyPostgres start(EmbeddedPostgres primary) throws IOException, SQLException {
+        StandbyPostgres replica = new StandbyPostgres(primary, Files.createTempDirectory("perfcheck-standby"));
+        try {
+            replica.cloneAndStart();
+        } catch (IOException | SQLException | RuntimeException e) {
+            replica.close();
+            throw e;
+        }
+        return replica;
+    }
+
+    String jdbcUrl() {
+        return standby.getJdbcUrl("postgres", "postgres");
+    }
+
+    private void cloneAndStart() throws IOException, SQLException {
+        try (Connection connection = primary.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            // Reserve WAL from here on, so nothing the standby needs is recycled before it connects
+            statement.execute("SELECT pg_create_physical_replication_slot('" + SLOT + "', true)");
+            Path source;
+            try (ResultSet rs = statement.executeQuery("SHOW data_directory")) {
+                rs.next();
+                source = Path.of(rs.getString(1));
+            }
+
+            statement.execute("SELECT pg_start_backup('perfcheck', true, false)");
+            copy(source, directory);
+            String label;
+            try (ResultSet rs = statement.executeQuery("SELECT labelfile FROM pg_stop_backup(false)")) {
+                rs.next();
+                label = rs.getString(1);
+            }
+            Files.writeString(directory.resolve("backup_label"), label);
+        }
+
+        Files.createFile(directory.resolve("standby.signal"));
+        Files.writeString(directory.resolve("postgresql.auto.conf"),
+                "primary_conninfo = 'host=localhost port=" + primary.getPort() + " user=postgres'\n" +
+                "primary_slot_name = '" + SLOT + "'\n" +
+                "hot_standby = on\n",
+                StandardOpenOption.APPEND);
+
+        standby = EmbeddedPostgres.builder()
+                .setDataDirectory(directory)
+                .setCleanDataDirectory(false)
+                .setServerConfig("timezone", "UTC")
+                .start();
+    }
+
+    // Stops the standby; the routing checks call it early to simulate a failed replica
+    void stop() throws IOException {
+        if (standby != null) {
+            standby.close();
+            standby = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            stop();
+            try (Connection connection = primary.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_drop_replication_slot(slot_name) FROM pg_replication_slots " +
+                        "WHERE slot_name = '" + SLOT + "'");
+            } catch (SQLException e) {
+                throw new IOException("Could not drop replication slot " + SLOT, e);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            paths.forEach(path -> {
+                Path relative = source.relativize(path);
+                if (SKIPPED_FILES.contains(relative.toString())
+                        || (relative.getNameCount() > 1 && EMPTIED_DIRECTORIES.contains(relative.getName(0).toString()))) {
+                    return;
+                }
+                try {
+                    Path copy = target.resolve(relative.toString());
+                    if (Files.isDirectory(path)) {
+                        Files.createDirectories(copy);
+                    } else {
+                        Files.copy(path, copy);
+                    }
+                } catch (NoSuchFileException e) {
+                    // A temporary file the running primary removed mid-copy; the backup does not need it
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        // Recovery expects the WAL archive status directory even when pg_wal starts empty
+        Files.createDirectories(target.resolve("pg_wal").resolve("archive_status"));
+    }
+
+    private static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// With virtual threads (spring.threads.virtual.enabled on Java 21) Tomcat no longer caps the
+// requests in flight at its worker pool, so a slow database would let thousands of requests
+// pile up waiting for one of the Hikari connections. This caps API requests in flight at the
+// pool size times app.concurrency.requests-per-connection (or app.concurrency.max-in-flight);
+// the rest park on a fair semaphore, which costs a virtual thread nothing, and get 503 after
+// app.concurrency.acquire-timeout-ms. The factor exists because a permit is held for the whole
+// request, including parsing, serialization and cache hits that need no connection: at exactly
+// the pool size those phases leave connections idle while requests queue for permits. Above
+// it, at most (factor - 1) x pool requests wait in Hikari's own queue.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(
+            @Value("${app.concurrency.max-in-flight:0}") int maxInFlight,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${app.concurrency.requests-per-connection:2}") int requestsPerConnection,
+            @Value("${app.concurrency.acquire-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}") long acquireTimeoutMs,
+            MeterRegistry meterRegistry) {
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : poolSize * Math.max(1, requestsPerConnection);
+        this.permits = new Semaphore(this.maxInFlight, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder("requests.limiter.active", () -> this.maxInFlight - permits.availablePermits())
+                .description("API requests holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("requests.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("API requests waiting for a concurrency permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("requests.limiter.rejected")
+                .description("API requests answered 503 after waiting acquire-timeout-ms for a permit")
+                .register(meterRegistry);
+    }
+
+    // Only the API is limited; health probes and CORS preflights must always get through
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, try again");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // A streamed download (Excel export) keeps reading the database after this returns;
+            // hold its permit until the async request completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static class ReleaseOnComplete implements AsyncListener {
+
+        private final Runnable release;
+
+        ReleaseOnComplete(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // The same request started async again; keep the listener attached
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+@Configuration
+public class DashboardConfig {
+
+    // Workers that run the dashboard queries side by side. Each worker holds at most one
+    // connection at a time, so keep this below spring.datasource.hikari.maximum-pool-size
+    // to leave connections for the rest of the API.
+    @Bean
+    public AsyncTaskExecutor dashboardExecutor(@Value("${app.dashboard.parallelism:3}") int parallelism,
+                                               Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // A virtual thread per query, at most `parallelism` of them running one at a time.
+            // The permit is taken inside the virtual thread, so the request thread never blocks
+            // (SimpleAsyncTaskExecutor's own concurrency limit waits on a monitor, which pins).
+            Semaphore running = new Semaphore(parallelism);
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(task -> {
+                Runnable decorated = ReplicaRouting.decorate(SqlProfiler.decorate(task));
+                return () -> {
+                    running.acquireUninterruptibly();
+                    try {
+                        decorated.run();
+                    } finally {
+                        running.release();
+                    }
+                };
+            });
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        // Unbounded queue (at most 7 queries per request thread). Running a query on the request
+        // thread when saturated would hold its open-in-view connection while it waits for the
+        // other queries, and enough of those requests deadlock the pool until connection-timeout.
+        executor.setThreadNamePrefix("dashboard-");
+        // Count the workers' queries against the request that started them, and route them like it
+        executor.setTaskDecorator(task -> ReplicaRouting.decorate(SqlProfiler.decorate(task)));
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,69 @@
+package com.expensetracker.config;
+
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+// Conditional GET for @VersionedResource handlers. The ETag is the user's data_version (bumped by
+// every write to their data) plus today's date, since "current month" and due dates roll over
+// without a write. A matching If-None-Match gets 304 after that one primary-key lookup, before
+// the handler runs any of its queries. The version is read before the handler, so a write that
+// lands in between only costs the client one extra full response, never a stale one. The lookup is
+// a read-only transaction and runs inside open-in-view, so it picks the connection the handler
+// keeps: behind a lagging replica the version lags with the body, and the ETag never runs ahead
+// of the body it labels.
+@Component
+public class DataVersionInterceptor implements HandlerInterceptor {
+
+    private final UserRepository userRepository;
+    private final Counter notModified;
+
+    public DataVersionInterceptor(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.notModified = Counter.builder("http.conditional.not_modified")
+                .description("Conditional GETs answered 304 without running the handler")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(VersionedResource.class)
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        Long userId = userId(request);
+        Optional<Long> version = userId == null ? Optional.empty() : userRepository.findDataVersion(userId);
+        if (version.isEmpty()) {
+            // Unknown user: let the handler produce its usual error
+            return true;
+        }
+
+        String etag = "W/\"" + userId + "-" + version.get() + "-" + LocalDate.now().toEpochDay() + "\"";
+        // Cache, but revalidate every time
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            notModified.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        try {
+            String userId = request.getParameter("userId");
+            return userId == null ? null : Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.expensetracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Users whose data changed in the last app.datasource.replicas.read-your-writes-ms. Their reads
+// stay on the primary for that long (ReplicaRoutingFilter), so neither their next page nor a
+// summary cache refill can come from a replica that has not replayed the write yet. Recorded
+// after commit by DataVersions.bump, which every write path calls. Only this instance's writes
+// are seen; with several instances, route a user to one of them.
+@Component
+public class ReadYourWrites {
+
+    private final Cache<Long, Boolean> recentWriters;
+    private final boolean enabled;
+
+    public ReadYourWrites(
+            @Value("${app.datasource.replicas.urls:}") String replicaUrls,
+            @Value("${app.datasource.replicas.read-your-writes-ms:15000}") long windowMs) {
+        this.enabled = !replicaUrls.isBlank() && windowMs > 0;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, windowMs)))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        if (enabled && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return enabled && userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RecurringConfig {
+
+    // One worker per user partition of the recurring job. Each holds a connection while its
+    // chunk commits, so keep app.recurring.partitions well below the Hikari pool size.
+    @Bean
+    public AsyncTaskExecutor recurringExecutor(@Value("${app.recurring.partitions:1}") int partitions,
+                                               Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // A run submits exactly `partitions` tasks, so a virtual thread each needs no pool
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("recurring-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, partitions));
+        executor.setMaxPoolSize(Math.max(1, partitions));
+        executor.setThreadNamePrefix("recurring-");
+        executor.initialize();
+        return executor;
+    }
+}
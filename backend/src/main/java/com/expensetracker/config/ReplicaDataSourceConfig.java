@@ -0,0 +1,83 @@
+package com.expensetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+// Read replicas, on when app.datasource.replicas.urls lists at least one JDBC URL. Replaces the
+// auto-configured pool with a ReplicaRoutingDataSource over the usual primary pool (same
+// spring.datasource.* settings) and one read-only pool per replica. Without replicas nothing
+// here is created and the app runs on the single auto-configured pool as before.
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replicas.urls:}' != ''")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${app.datasource.replicas.urls}") String urls,
+                                 @Value("${app.datasource.replicas.username:}") String username,
+                                 @Value("${app.datasource.replicas.password:}") String password,
+                                 @Value("${app.datasource.replicas.pool-size:0}") int poolSize,
+                                 @Value("${app.datasource.replicas.connection-timeout-ms:2000}") long connectionTimeoutMs,
+                                 @Value("${app.datasource.replicas.max-lag-ms:10000}") long maxLagMs,
+                                 @Value("${app.datasource.replicas.health-check-ms:5000}") long healthCheckMs,
+                                 @Value("${app.datasource.replicas.read-your-writes-ms:15000}") long readYourWritesMs) {
+        // A replica can fall up to max-lag-ms behind, plus one health-check interval before it is
+        // noticed. A shorter window would let a user's own reads, and the summary cache entries they
+        // refill, come from data older than their last write
+        if (readYourWritesMs < maxLagMs + healthCheckMs) {
+            throw new RuntimeException("app.datasource.replicas.read-your-writes-ms (" + readYourWritesMs
+                    + ") must be at least max-lag-ms + health-check-ms (" + (maxLagMs + healthCheckMs) + ")");
+        }
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(primary.getDriverClassName());
+            replica.setUsername(StringUtils.hasText(username) ? username : primary.getUsername());
+            replica.setPassword(StringUtils.hasText(username) ? password : primary.getPassword());
+            replica.setDataSourceProperties(primary.getDataSourceProperties());
+            replica.setMaximumPoolSize(poolSize > 0 ? poolSize : primary.getMaximumPoolSize());
+            // A replica that is down must not hold up startup or a request for long; its reads
+            // fall back to the primary
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, replica));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagMs);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        return new ReplicaHealthCheck(dataSource.unwrap(ReplicaRoutingDataSource.class), meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingFilter replicaRoutingFilter(ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        return new ReplicaRoutingFilter(readYourWrites, meterRegistry);
+    }
+}
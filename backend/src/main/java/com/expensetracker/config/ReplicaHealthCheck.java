@@ -0,0 +1,38 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Probes the replicas every app.datasource.replicas.health-check-ms and publishes their state:
+// db.replica.healthy (1 in rotation, 0 out), db.replica.lag (replay lag in ms) and
+// db.replica.routed (connections handed to reads), each tagged with the replica's pool name.
+public class ReplicaHealthCheck {
+
+    private final ReplicaRoutingDataSource dataSource;
+
+    public ReplicaHealthCheck(ReplicaRoutingDataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        for (ReplicaRoutingDataSource.Replica replica : dataSource.getReplicas()) {
+            Gauge.builder("db.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .description("1 while the replica takes reads, 0 while they go to the primary")
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, ReplicaRoutingDataSource.Replica::getLagMs)
+                    .tag("replica", replica.getName())
+                    .baseUnit("milliseconds")
+                    .description("Replay lag behind the primary at the last health check")
+                    .register(meterRegistry);
+            FunctionCounter.builder("db.replica.routed", replica, ReplicaRoutingDataSource.Replica::getRouted)
+                    .tag("replica", replica.getName())
+                    .description("Connections for read-only transactions served by the replica")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-ms:5000}")
+    public void check() {
+        dataSource.checkReplicas();
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensetracker.config;
+
+// Per-thread opt-in for ReplicaRoutingDataSource: read-only transactions go to a replica only on
+// a thread that allowed it. ReplicaRoutingFilter allows it for GET requests, except those of a
+// user who just wrote; everything else (writes, scheduled jobs, imports) reads the primary, so a
+// job never acts on a replica's stale view. decorate() carries the flag onto the dashboard
+// workers, like SqlProfiler.decorate.
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static void allowReplica() {
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        REPLICA_ALLOWED.remove();
+    }
+
+    public static boolean isReplicaAllowed() {
+        return REPLICA_ALLOWED.get() != null;
+    }
+
+    // TaskDecorator: run the task with the submitting thread's routing
+    public static Runnable decorate(Runnable task) {
+        if (!isReplicaAllowed()) {
+            return task;
+        }
+        return () -> {
+            allowReplica();
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.expensetracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+// Sends connections for read-only transactions (@Transactional(readOnly = true), which includes
+// Spring Data's own finders) round-robin to the healthy replicas when the thread allows it
+// (ReplicaRouting), everything else to the primary. JPA asks for the connection before the
+// transaction's read-only flag is published, so the choice is deferred to the first statement
+// by LazyConnectionDataSourceProxy. A replica that fails to hand out a live connection, or falls
+// more than maxLagMs behind, is skipped until the next health check sees it recover.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Replay lag in ms; 0 when everything received is replayed (an idle primary sends nothing, so
+    // the last replay timestamp alone would look like growing lag), and 0 on a non-standby server
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMs) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        // Known up front, so the proxy never opens a connection just to find out
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        setTargetDataSource(new Router());
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // Pool metrics and the datasource health check unwrap to the primary pool
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    private Connection route() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && ReplicaRouting.isReplicaAllowed()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                Connection connection = null;
+                try {
+                    connection = replica.dataSource.getConnection();
+                    // Hikari skips its liveness check on a connection used within the last 500 ms,
+                    // so right after a replica goes away it still hands out dead ones; one round
+                    // trip here sends the request to the primary instead of failing it
+                    if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                        throw new SQLException("connection is no longer valid");
+                    }
+                    replica.routed.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    closeQuietly(connection);
+                    replica.markDown("connection failed: " + e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Probes every replica (reachable, and replay lag within maxLagMs) and updates its state
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(5);
+                try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                    rs.next();
+                    replica.lagMs = rs.getLong(1);
+                }
+                if (replica.lagMs > maxLagMs) {
+                    replica.markDown("replay lag " + replica.lagMs + " ms");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markDown("health check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // Closes the replica pools and the primary; called by the container on shutdown
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Failed to close replica connection", e);
+            }
+        }
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close {}", dataSource, e);
+            }
+        }
+    }
+
+    // Picks the physical connection once the lazy proxy sees the first statement
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route();
+        }
+
+        // Explicit credentials belong to the primary's user; replicas may use other ones
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger routed = new AtomicInteger();
+        private volatile boolean healthy = true;
+        private volatile long lagMs;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMs() {
+            return lagMs;
+        }
+
+        public int getRouted() {
+            return routed.get();
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                logger.warn("Replica {} taken out of rotation ({}); its reads go to the primary", name, reason);
+            }
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                logger.info("Replica {} back in rotation", name);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Lets GET requests read from a replica. Open-in-view keeps one connection for the whole request,
+// picked by its first transaction, so any other method stays on the primary even where it starts
+// with a read. A GET from a user who wrote within the read-your-writes window (ReadYourWrites)
+// stays on the primary too, so they see their own change.
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    private final ReadYourWrites readYourWrites;
+    private final Counter pinned;
+
+    public ReplicaRoutingFilter(ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.pinned = Counter.builder("db.replica.read_your_writes")
+                .description("GET requests kept on the primary after the user's own write")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/")
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (readYourWrites.wroteRecently(userId(request))) {
+            pinned.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRouting.allowReplica();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.clear();
+        }
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        try {
+            String userId = request.getParameter("userId");
+            return userId == null ? null : Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.expensetracker.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -19,6 +24,16 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    // Set (MANAGEMENT_SERVER_PORT) to serve the actuator on its own port, reachable by the scraper only
+    private final Integer managementPort;
+    private final int serverPort;
+
+    public SecurityConfig(@Value("${management.server.port:#{null}}") Integer managementPort,
+                          @Value("${server.port:8080}") int serverPort) {
+        this.managementPort = managementPort;
+        this.serverPort = serverPort;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, CorsConfigurationSource corsSource) throws Exception {
         http
@@ -27,9 +42,18 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/**").permitAll()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                // Metrics expose pool, cache and request internals: never on the public port
+                .requestMatchers(EndpointRequest.toAnyEndpoint())
+                    .access((authentication, context) -> new AuthorizationDecision(onManagementPort(context.getRequest())))
                 .anyRequest().permitAll()
             );
 
         return http.build();
     }
+
+    private boolean onManagementPort(HttpServletRequest request) {
+        return managementPort != null && managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort;
+    }
 }
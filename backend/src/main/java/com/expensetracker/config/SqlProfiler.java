@@ -0,0 +1,94 @@
+package com.expensetracker.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Request-scoped SQL statement counter and timer.
+// ProfilingDataSource records every executed statement into the current thread's profile;
+// SqlProfilingFilter opens one per request, and decorate() carries it onto worker threads.
+public final class SqlProfiler {
+
+    private static final ThreadLocal<Profile> CURRENT = new ThreadLocal<>();
+
+    private SqlProfiler() {
+    }
+
+    public static Profile start() {
+        Profile profile = new Profile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    public static Profile current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(String sql, long nanos) {
+        Profile profile = CURRENT.get();
+        if (profile != null) {
+            profile.record(sql, nanos);
+        }
+    }
+
+    // TaskDecorator body: run the task under the submitting thread's profile
+    public static Runnable decorate(Runnable task) {
+        Profile profile = CURRENT.get();
+        if (profile == null) {
+            return task;
+        }
+        return () -> {
+            Profile previous = CURRENT.get();
+            CURRENT.set(profile);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    // Counters may be updated from several threads (dashboard fan-out)
+    public static final class Profile {
+        private final AtomicInteger statements = new AtomicInteger();
+        private final AtomicLong nanos = new AtomicLong();
+        private final Map<String, AtomicInteger> executionsBySql = new ConcurrentHashMap<>();
+
+        private void record(String sql, long elapsed) {
+            statements.incrementAndGet();
+            nanos.addAndGet(elapsed);
+            if (sql != null) {
+                executionsBySql.computeIfAbsent(sql, key -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        public int getStatementCount() {
+            return statements.get();
+        }
+
+        public long getElapsedMillis() {
+            return nanos.get() / 1_000_000;
+        }
+
+        // The statement text executed most often, with its count (an N+1 shows up here)
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, AtomicInteger> entry : executionsBySql.entrySet()) {
+                int count = entry.getValue().get();
+                if (top == null || count > top.getValue()) {
+                    top = Map.entry(entry.getKey(), count);
+                }
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.expensetracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Opens a SQL profile per request, reports it as X-SQL-Count / X-SQL-Time-Ms and logs it.
+// Requests above app.sql-profiling.warn-statements, or running one statement more than
+// app.sql-profiling.warn-repeats times (the usual N+1 shape), are logged at WARN.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.sql-profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfilingFilter.class);
+
+    private final int warnStatements;
+    private final int warnRepeats;
+
+    public SqlProfilingFilter(
+            @Value("${app.sql-profiling.warn-statements:20}") int warnStatements,
+            @Value("${app.sql-profiling.warn-repeats:10}") int warnRepeats) {
+        this.warnStatements = warnStatements;
+        this.warnRepeats = warnRepeats;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlProfiler.Profile profile = SqlProfiler.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlProfiler.stop();
+            // Bodies written through SqlProfilingResponseAdvice already carry the headers;
+            // this covers empty and error responses that are not committed yet
+            if (!response.isCommitted()) {
+                writeHeaders(response, profile);
+            }
+            report(request, profile);
+        }
+    }
+
+    static void writeHeaders(HttpServletResponse response, SqlProfiler.Profile profile) {
+        response.setHeader(COUNT_HEADER, String.valueOf(profile.getStatementCount()));
+        response.setHeader(TIME_HEADER, String.valueOf(profile.getElapsedMillis()));
+    }
+
+    private void report(HttpServletRequest request, SqlProfiler.Profile profile) {
+        int count = profile.getStatementCount();
+        Map.Entry<String, Integer> repeated = profile.mostRepeated();
+        boolean tooMany = count > warnStatements;
+        boolean nPlusOne = repeated != null && repeated.getValue() > warnRepeats;
+
+        if (tooMany || nPlusOne) {
+            logger.warn("{} {} ran {} SQL statement(s) in {} ms{}", request.getMethod(), request.getRequestURI(),
+                    count, profile.getElapsedMillis(),
+                    nPlusOne ? "; possible N+1, " + repeated.getValue() + "x: " + repeated.getKey() : "");
+        } else if (logger.isDebugEnabled() && count > 0) {
+            logger.debug("{} {} ran {} SQL statement(s) in {} ms", request.getMethod(), request.getRequestURI(),
+                    count, profile.getElapsedMillis());
+        }
+    }
+}
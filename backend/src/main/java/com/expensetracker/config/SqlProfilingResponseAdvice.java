@@ -0,0 +1,32 @@
+package com.expensetracker.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Sets the SQL profile headers just before a response body is written, i.e. after the
+// controller's queries have run but while headers can still be changed
+@ControllerAdvice
+public class SqlProfilingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlProfiler.Profile profile = SqlProfiler.current();
+        if (profile != null) {
+            response.getHeaders().set(SqlProfilingFilter.COUNT_HEADER, String.valueOf(profile.getStatementCount()));
+            response.getHeaders().set(SqlProfilingFilter.TIME_HEADER, String.valueOf(profile.getElapsedMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,27 @@
+package com.expensetracker.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+@Configuration
+public class ThreadingConfig {
+
+    // Spring MVC runs streamed responses (the Excel export) on the bean with this name. Boot
+    // backs off from defining it because the dashboard and recurring executors exist, and MVC
+    // would then start an unpooled thread per export, so define it here the way Boot would:
+    // virtual threads when enabled, otherwise a pool sized by spring.task.execution.pool.*.
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor(Environment environment,
+                                                     SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder,
+                                                     ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return simpleAsyncTaskExecutorBuilder.build();
+        }
+        return threadPoolTaskExecutorBuilder.build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a GET handler whose response depends only on the userId parameter's data (and today's
+// date): DataVersionInterceptor gives it an ETag and answers a matching If-None-Match with 304.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedResource {
+}
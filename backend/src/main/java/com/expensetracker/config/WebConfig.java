@@ -0,0 +1,22 @@
+package com.expensetracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DataVersionInterceptor dataVersionInterceptor;
+
+    public WebConfig(DataVersionInterceptor dataVersionInterceptor) {
+        this.dataVersionInterceptor = dataVersionInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // After open-in-view's interceptor, so the version lookup opens the request's connection
+        registry.addInterceptor(dataVersionInterceptor).addPathPatterns("/api/**").order(Ordered.LOWEST_PRECEDENCE);
+    }
+}
@@ -1,5 +1,6 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.config.VersionedResource;
 import com.expensetracker.dto.BudgetRequest;
 import com.expensetracker.dto.BudgetResponse;
 import com.expensetracker.service.BudgetService;
@@ -19,11 +20,13 @@ public class BudgetController {
         this.budgetService = budgetService;
     }
 
+    @VersionedResource
     @GetMapping
     public ResponseEntity<List<BudgetResponse>> getBudgets(@RequestParam Long userId) {
         return ResponseEntity.ok(budgetService.getBudgets(userId));
     }
 
+    @VersionedResource
     @GetMapping("/current")
     public ResponseEntity<BudgetResponse> getCurrentBudget(
             @RequestParam Long userId,
@@ -0,0 +1,25 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.CacheStatsResponse;
+import com.expensetracker.service.SummaryCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final SummaryCache summaryCache;
+
+    public CacheController(SummaryCache summaryCache) {
+        this.summaryCache = summaryCache;
+    }
+
+    // GET /api/cache/stats
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        return ResponseEntity.ok(summaryCache.stats());
+    }
+}
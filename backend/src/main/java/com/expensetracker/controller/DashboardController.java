@@ -0,0 +1,28 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.config.VersionedResource;
+import com.expensetracker.dto.DashboardResponse;
+import com.expensetracker.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // GET /api/dashboard?userId=1
+    @VersionedResource
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(@RequestParam Long userId) {
+        return ResponseEntity.ok(dashboardService.getDashboard(userId));
+    }
+}
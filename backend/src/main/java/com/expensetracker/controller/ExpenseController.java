@@ -1,5 +1,6 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.config.VersionedResource;
 import com.expensetracker.dto.*;
 import com.expensetracker.service.ExpenseService;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -20,6 +21,7 @@ public class ExpenseController {
     }
 
     // GET /api/expenses?userId=1&category=Food&startDate=2026-01-01&endDate=2026-01-31
+    @VersionedResource
     @GetMapping
     public ResponseEntity<List<ExpenseResponse>> getExpenses(
             @RequestParam Long userId,
@@ -31,6 +33,20 @@ public class ExpenseController {
         return ResponseEntity.ok(expenses);
     }
 
+    // GET /api/expenses?userId=1&limit=50&cursor=... (keyset pagination, newest first)
+    @VersionedResource
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getExpensePage(
+            @RequestParam Long userId,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(expenseService.getExpensePage(userId, category, startDate, endDate, cursor, limit));
+    }
+
     // POST /api/expenses?userId=1
     @PostMapping
     public ResponseEntity<ExpenseResponse> addExpense(
@@ -41,6 +57,15 @@ public class ExpenseController {
         return ResponseEntity.ok(expense);
     }
 
+    // POST /api/expenses/batch?userId=1 (body: array of expenses)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> addExpenses(
+            @RequestParam Long userId,
+            @RequestBody List<ExpenseRequest> requests) {
+
+        return ResponseEntity.ok(expenseService.addExpenses(userId, requests));
+    }
+
     // PUT /api/expenses/5?userId=1
     @PutMapping("/{id}")
     public ResponseEntity<ExpenseResponse> updateExpense(
@@ -63,12 +88,14 @@ public class ExpenseController {
     }
 
     // GET /api/expenses/monthly-summary?userId=1
+    @VersionedResource
     @GetMapping("/monthly-summary")
     public ResponseEntity<List<MonthlySummary>> getMonthlySummary(@RequestParam Long userId) {
         return ResponseEntity.ok(expenseService.getMonthlySummary(userId));
     }
 
     // GET /api/expenses/category-summary?userId=1
+    @VersionedResource
     @GetMapping("/category-summary")
     public ResponseEntity<List<CategorySummary>> getCategorySummary(@RequestParam Long userId) {
         return ResponseEntity.ok(expenseService.getCategorySummary(userId));
@@ -0,0 +1,31 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.config.VersionedResource;
+import com.expensetracker.dto.ForecastResponse;
+import com.expensetracker.service.ForecastService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/forecast")
+public class ForecastController {
+
+    private final ForecastService forecastService;
+
+    public ForecastController(ForecastService forecastService) {
+        this.forecastService = forecastService;
+    }
+
+    // GET /api/forecast?userId=1&months=3 (rest of this month plus the next 3)
+    @VersionedResource
+    @GetMapping
+    public ResponseEntity<ForecastResponse> getForecast(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Integer months) {
+
+        return ResponseEntity.ok(forecastService.getForecast(userId, months));
+    }
+}
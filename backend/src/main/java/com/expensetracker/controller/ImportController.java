@@ -0,0 +1,39 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.CsvImportOptions;
+import com.expensetracker.dto.ImportJobResponse;
+import com.expensetracker.service.ImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    // POST /api/import/csv?userId=1&type=SIGNED&titleColumn=Description&dateFormat=dd/MM/yyyy
+    // Body is the raw CSV (Content-Type: text/csv); it is read as a stream, not buffered
+    @PostMapping("/csv")
+    public ResponseEntity<ImportJobResponse> importCsv(
+            @RequestParam Long userId,
+            CsvImportOptions options,
+            InputStream body) throws IOException {
+
+        return ResponseEntity.ok(importService.importCsv(userId, options, body));
+    }
+
+    // GET /api/import/jobs?userId=1 (progress of running and recent imports)
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ImportJobResponse>> getJobs(@RequestParam Long userId) {
+        return ResponseEntity.ok(importService.getJobs(userId));
+    }
+}
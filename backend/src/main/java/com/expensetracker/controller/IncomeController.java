@@ -1,5 +1,8 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.config.VersionedResource;
+import com.expensetracker.dto.BatchResult;
+import com.expensetracker.dto.CursorPage;
 import com.expensetracker.dto.IncomeRequest;
 import com.expensetracker.dto.IncomeResponse;
 import com.expensetracker.dto.MonthlySummary;
@@ -22,6 +25,7 @@ public class IncomeController {
         this.incomeService = incomeService;
     }
 
+    @VersionedResource
     @GetMapping
     public ResponseEntity<List<IncomeResponse>> getIncomes(
             @RequestParam Long userId,
@@ -32,6 +36,19 @@ public class IncomeController {
         return ResponseEntity.ok(incomeService.getIncomes(userId, source, startDate, endDate));
     }
 
+    @VersionedResource
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<IncomeResponse>> getIncomePage(
+            @RequestParam Long userId,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(incomeService.getIncomePage(userId, source, startDate, endDate, cursor, limit));
+    }
+
     @PostMapping
     public ResponseEntity<IncomeResponse> addIncome(
             @RequestParam Long userId,
@@ -40,6 +57,14 @@ public class IncomeController {
         return ResponseEntity.ok(incomeService.addIncome(userId, request));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> addIncomes(
+            @RequestParam Long userId,
+            @RequestBody List<IncomeRequest> requests) {
+
+        return ResponseEntity.ok(incomeService.addIncomes(userId, requests));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<IncomeResponse> updateIncome(
             @RequestParam Long userId,
@@ -58,11 +83,13 @@ public class IncomeController {
         return ResponseEntity.ok("Income deleted successfully!");
     }
 
+    @VersionedResource
     @GetMapping("/monthly-summary")
     public ResponseEntity<List<MonthlySummary>> getMonthlySummary(@RequestParam Long userId) {
         return ResponseEntity.ok(incomeService.getMonthlySummary(userId));
     }
 
+    @VersionedResource
     @GetMapping("/source-summary")
     public ResponseEntity<List<SourceSummary>> getSourceSummary(@RequestParam Long userId) {
         return ResponseEntity.ok(incomeService.getSourceSummary(userId));
@@ -0,0 +1,33 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.config.VersionedResource;
+import com.expensetracker.dto.CursorPage;
+import com.expensetracker.dto.LedgerEntry;
+import com.expensetracker.service.LedgerService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    public LedgerController(LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    // GET /api/ledger?userId=1&limit=50&cursor=<nextCursor from the previous page>
+    @GetMapping
+    @VersionedResource
+    public ResponseEntity<CursorPage<LedgerEntry>> getLedger(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+
+        return ResponseEntity.ok(ledgerService.getLedgerPage(userId, cursor, limit));
+    }
+}
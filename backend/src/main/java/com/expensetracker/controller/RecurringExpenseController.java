@@ -1,7 +1,9 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.config.VersionedResource;
 import com.expensetracker.dto.RecurringExpenseRequest;
 import com.expensetracker.dto.RecurringExpenseResponse;
+import com.expensetracker.dto.RecurringRunStats;
 import com.expensetracker.service.RecurringExpenseService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +22,7 @@ public class RecurringExpenseController {
         this.recurringExpenseService = recurringExpenseService;
     }
 
+    @VersionedResource
     @GetMapping
     public ResponseEntity<List<RecurringExpenseResponse>> getRecurringExpenses(@RequestParam Long userId) {
         return ResponseEntity.ok(recurringExpenseService.getRecurringExpenses(userId));
@@ -62,10 +65,18 @@ public class RecurringExpenseController {
 
     @PostMapping("/process-due")
     public ResponseEntity<Map<String, Object>> processDueRecurringExpenses() {
-        int createdExpenses = recurringExpenseService.processDueRecurringExpenses();
+        RecurringRunStats stats = recurringExpenseService.processDueRecurringExpenses();
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Due recurring expenses processed successfully");
-        response.put("createdExpenses", createdExpenses);
+        response.put("createdExpenses", stats.getExpensesCreated());
+        response.put("seriesProcessed", stats.getSeriesProcessed());
+        response.put("durationMs", stats.getDurationMs());
         return ResponseEntity.ok(response);
     }
+
+    // GET /api/recurring/runs (stats of the most recent processing runs)
+    @GetMapping("/runs")
+    public ResponseEntity<List<RecurringRunStats>> getRecentRuns() {
+        return ResponseEntity.ok(recurringExpenseService.getRecentRuns());
+    }
 }
@@ -1,5 +1,6 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.entity.User;
 import com.expensetracker.service.ReportService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -8,8 +9,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
 
 @RestController
@@ -23,14 +24,16 @@ public class ReportController {
     }
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportReport(@RequestParam Long userId) throws IOException {
-        byte[] workbookData = reportService.generateExcelReport(userId);
+    public ResponseEntity<StreamingResponseBody> exportReport(@RequestParam Long userId) {
+        // Look the user up before streaming starts so a bad id still gets a normal error response
+        User user = reportService.getReportUser(userId);
+        StreamingResponseBody body = output -> reportService.writeExcelReport(user, output);
 
         String filename = "money-manager-report-" + LocalDate.now() + ".xlsx";
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(workbookData);
+                .body(body);
     }
 }
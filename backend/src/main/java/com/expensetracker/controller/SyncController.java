@@ -0,0 +1,29 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.SyncResponse;
+import com.expensetracker.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // GET /api/sync?userId=1&since=<token from the previous sync> (no since: full snapshot)
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String since) {
+
+        return ResponseEntity.ok(syncService.sync(userId, since));
+    }
+}
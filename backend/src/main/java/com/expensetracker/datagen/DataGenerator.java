@@ -0,0 +1,361 @@
+package com.expensetracker.datagen;
+
+import com.expensetracker.service.RecurrenceRule;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Bulk-loads a synthetic dataset for scale testing, then exits:
+//   SPRING_PROFILES_ACTIVE=datagen java -jar expense-tracker.jar --app.datagen.users=10000
+// Rows are streamed with COPY on several connections. Expense and income ids come from blocks
+// taken with nextval on the pooled sequences, so a running application never sees a clash.
+// Monthly rollups are rebuilt for the new users at the end.
+@Component
+@Profile("datagen")
+public class DataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final int COPY_BUFFER = 1 << 16;
+    private static final RecurrenceRule[] RULES = RecurrenceRule.values();
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    private final int users;
+    private final int expensesPerUser;
+    private final double userSpread;
+    private final Weighted categories;
+    private final Weighted sources;
+    private final double amountMedian;
+    private final double amountSpread;
+    private final double incomeMedian;
+    private final int incomesPerMonth;
+    private final int recurringPerUser;
+    private final int years;
+    private final int threads;
+    private final long seed;
+
+    public DataGenerator(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            ConfigurableApplicationContext context,
+            @Value("${app.datagen.users:1000}") int users,
+            @Value("${app.datagen.expenses-per-user:1000}") int expensesPerUser,
+            @Value("${app.datagen.user-spread:1.0}") double userSpread,
+            @Value("${app.datagen.categories:Food:30,Transport:15,Shopping:15,Bills:20,Entertainment:10,Health:5,Other:5}") String categories,
+            @Value("${app.datagen.sources:Salary:80,Freelance:15,Investments:5}") String sources,
+            @Value("${app.datagen.amount-median:25}") double amountMedian,
+            @Value("${app.datagen.amount-spread:1.0}") double amountSpread,
+            @Value("${app.datagen.income-median:3000}") double incomeMedian,
+            @Value("${app.datagen.incomes-per-month:2}") int incomesPerMonth,
+            @Value("${app.datagen.recurring-per-user:3}") int recurringPerUser,
+            @Value("${app.datagen.years:3}") int years,
+            @Value("${app.datagen.threads:4}") int threads,
+            @Value("${app.datagen.seed:42}") long seed) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.users = users;
+        this.expensesPerUser = expensesPerUser;
+        this.userSpread = userSpread;
+        this.categories = Weighted.parse(categories);
+        this.sources = Weighted.parse(sources);
+        this.amountMedian = amountMedian;
+        this.amountSpread = amountSpread;
+        this.incomeMedian = incomeMedian;
+        this.incomesPerMonth = incomesPerMonth;
+        this.recurringPerUser = recurringPerUser;
+        this.years = years;
+        this.threads = Math.max(1, threads);
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(years);
+        int days = (int) ChronoUnit.DAYS.between(from, today) + 1;
+        int months = years * 12 + 1;
+
+        long[] userIds = insertUsers();
+
+        // Per-user volumes are drawn up front so the id blocks can be reserved in one step
+        int[] expenseCounts = new int[users];
+        long totalExpenses = 0;
+        SplittableRandom sizes = new SplittableRandom(seed);
+        for (int u = 0; u < users; u++) {
+            expenseCounts[u] = (int) Math.max(0, Math.round(expensesPerUser * logNormal(sizes, userSpread)));
+            totalExpenses += expenseCounts[u];
+        }
+        long incomesPerUser = (long) incomesPerMonth * months;
+        long expenseBase = reserveIds("expenses_id_seq", totalExpenses);
+        long incomeBase = reserveIds("incomes_id_seq", incomesPerUser * users);
+
+        // Users are split into contiguous slices, one COPY stream per table per slice
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            int sliceSize = (users + threads - 1) / threads;
+            long expenseOffset = 0;
+            for (int first = 0; first < users; first += sliceSize) {
+                int last = Math.min(users, first + sliceSize);
+                long sliceExpenseBase = expenseBase + expenseOffset;
+                long sliceIncomeBase = incomeBase + first * incomesPerUser;
+                int sliceFirst = first;
+                slices.add(pool.submit(() -> {
+                    loadSlice(userIds, expenseCounts, sliceFirst, last, sliceExpenseBase, sliceIncomeBase,
+                            from, days, today);
+                    return null;
+                }));
+                for (int u = first; u < last; u++) {
+                    expenseOffset += expenseCounts[u];
+                }
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        long loaded = System.currentTimeMillis() - start;
+        logger.info("Loaded {} expense(s) and {} income(s) for {} user(s) in {} ms ({} rows/s)",
+                totalExpenses, incomesPerUser * users, users, loaded,
+                loaded == 0 ? 0 : (totalExpenses + incomesPerUser * users) * 1000 / loaded);
+
+        rebuildRollups(userIds[0], userIds[userIds.length - 1]);
+        for (String table : new String[]{"users", "expenses", "incomes", "budgets", "recurring_expenses", "monthly_rollups"}) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        logger.info("Data generation finished in {} ms (user ids {}..{}); restart running instances or wait for the "
+                + "nightly reconcile to pick up the new recurring series", System.currentTimeMillis() - start,
+                userIds[0], userIds[userIds.length - 1]);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private long[] insertUsers() {
+        // Every generated user can log in with the password "password"
+        String password = passwordEncoder.encode("password");
+        String prefix = "gen-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            rows.add(new Object[]{prefix + u + "@example.com", "Generated User " + u, password});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, name, password) VALUES (?, ?, ?)", rows);
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class, prefix + "%");
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Reserves a contiguous block of at least `count` ids and returns the first one. Every nextval
+    // hands out one pooled block (Hibernate uses the ids value - increment + 1 .. value), so ids
+    // taken this way can never clash with the application's. If another session's nextval lands
+    // in between, the blocks are not contiguous: they are left as a gap and the reservation retried.
+    private long reserveIds(String sequence, long count) {
+        long increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                Long.class, sequence);
+        long blocks = Math.max(1, (count + increment - 1) / increment);
+        for (int attempt = 1; ; attempt++) {
+            List<Long> values = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+            long first = values.get(0);
+            if (values.get(values.size() - 1) - first == (blocks - 1) * increment) {
+                return first - increment + 1;
+            }
+            if (attempt == 5) {
+                throw new RuntimeException("Could not reserve " + count + " contiguous ids on " + sequence);
+            }
+            logger.info("Ids on {} were interleaved with other inserts, retrying", sequence);
+        }
+    }
+
+    private void loadSlice(long[] userIds, int[] expenseCounts, int first, int last, long expenseId, long incomeId,
+                           LocalDate from, int days, LocalDate today) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+
+            try (CopyStream copy = new CopyStream(pg, "COPY expenses (id, title, amount, category, date, user_id) FROM STDIN")) {
+                long id = expenseId;
+                for (int u = first; u < last; u++) {
+                    SplittableRandom random = new SplittableRandom(seed * 31 + u);
+                    for (int i = 0; i < expenseCounts[u]; i++) {
+                        String category = categories.pick(random);
+                        copy.row(id++, category + " " + (i + 1), cents(amountMedian * spread(random, amountSpread)),
+                                category, from.plusDays(random.nextInt(days)), userIds[u]);
+                    }
+                }
+            }
+
+            try (CopyStream copy = new CopyStream(pg, "COPY incomes (id, title, amount, source, date, user_id) FROM STDIN")) {
+                long id = incomeId;
+                for (int u = first; u < last; u++) {
+                    SplittableRandom random = new SplittableRandom(seed * 37 + u);
+                    double base = incomeMedian * spread(random, 0.5);
+                    for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(today); month = month.plusMonths(1)) {
+                        for (int i = 0; i < incomesPerMonth; i++) {
+                            String source = sources.pick(random);
+                            LocalDate date = month.plusDays(random.nextInt(month.lengthOfMonth()));
+                            copy.row(id++, source + " " + month, cents(base * spread(random, 0.2)), source,
+                                    date.isAfter(today) ? today : date, userIds[u]);
+                        }
+                    }
+                }
+            }
+
+            try (CopyStream copy = new CopyStream(pg, "COPY budgets (month, monthly_limit, budget_year, user_id) FROM STDIN")) {
+                for (int u = first; u < last; u++) {
+                    // Roughly what the user spends in an average month, so some months overrun
+                    double typical = expenseCounts[u] / (years * 12.0 + 1) * amountMedian * Math.exp(amountSpread * amountSpread / 2);
+                    for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(today); month = month.plusMonths(1)) {
+                        copy.row(month.getMonthValue(), Math.max(100, Math.round(typical / 50) * 50), month.getYear(), userIds[u]);
+                    }
+                }
+            }
+
+            try (CopyStream copy = new CopyStream(pg, "COPY recurring_expenses "
+                    + "(active, amount, category, frequency, next_due_date, anchor_date, title, user_id) FROM STDIN")) {
+                for (int u = first; u < last; u++) {
+                    SplittableRandom random = new SplittableRandom(seed * 41 + u);
+                    for (int i = 0; i < recurringPerUser; i++) {
+                        LocalDate due = today.plusDays(random.nextInt(-30, 31));
+                        String category = categories.pick(random);
+                        copy.row(random.nextInt(10) != 0, cents(amountMedian * spread(random, amountSpread)), category,
+                                RULES[random.nextInt(RULES.length)].name(), due, due, category + " subscription " + (i + 1), userIds[u]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void rebuildRollups(long firstUserId, long lastUserId) {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM monthly_rollups WHERE user_id BETWEEN ? AND ?", firstUserId, lastUserId);
+        jdbcTemplate.update("INSERT INTO monthly_rollups (user_id, kind, rollup_year, rollup_month, label, total, entry_count) "
+                + "SELECT user_id, 'EXPENSE', EXTRACT(YEAR FROM date)::INTEGER, EXTRACT(MONTH FROM date)::INTEGER, category, SUM(amount), COUNT(*) "
+                + "FROM expenses WHERE user_id BETWEEN ? AND ? "
+                + "GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category", firstUserId, lastUserId);
+        jdbcTemplate.update("INSERT INTO monthly_rollups (user_id, kind, rollup_year, rollup_month, label, total, entry_count) "
+                + "SELECT user_id, 'INCOME', EXTRACT(YEAR FROM date)::INTEGER, EXTRACT(MONTH FROM date)::INTEGER, source, SUM(amount), COUNT(*) "
+                + "FROM incomes WHERE user_id BETWEEN ? AND ? "
+                + "GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), source", firstUserId, lastUserId);
+        logger.info("Rebuilt monthly rollups in {} ms", System.currentTimeMillis() - start);
+    }
+
+    // Mean-one log-normal factor: sigma 0 gives exactly 1, larger values a longer tail
+    private static double logNormal(SplittableRandom random, double sigma) {
+        return Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2);
+    }
+
+    // Median-one log-normal factor, for amounts configured by their median
+    private static double spread(SplittableRandom random, double sigma) {
+        return Math.exp(sigma * random.nextGaussian());
+    }
+
+    private static double cents(double amount) {
+        return Math.max(0.01, Math.round(amount * 100) / 100.0);
+    }
+
+    // Labels with relative weights, parsed from "Food:30,Transport:15"
+    private record Weighted(String[] labels, double[] cumulative) {
+
+        static Weighted parse(String spec) {
+            String[] parts = spec.split(",");
+            String[] labels = new String[parts.length];
+            double[] cumulative = new double[parts.length];
+            double total = 0;
+            for (int i = 0; i < parts.length; i++) {
+                String[] pair = parts[i].trim().split(":");
+                labels[i] = pair[0].trim();
+                total += pair.length > 1 ? Double.parseDouble(pair[1].trim()) : 1;
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < cumulative.length; i++) {
+                cumulative[i] /= total;
+            }
+            return new Weighted(labels, cumulative);
+        }
+
+        String pick(SplittableRandom random) {
+            double r = random.nextDouble();
+            for (int i = 0; i < cumulative.length - 1; i++) {
+                if (r < cumulative[i]) {
+                    return labels[i];
+                }
+            }
+            return labels[labels.length - 1];
+        }
+    }
+
+    // Buffers rows in COPY text format (tab-separated) and streams them to the server
+    private static final class CopyStream implements AutoCloseable {
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER + 256);
+
+        CopyStream(PGConnection connection, String sql) throws SQLException {
+            this.copy = connection.getCopyAPI().copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                buffer.append(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BatchResult {
+    private Integer received;
+    private Integer created;
+    private List<BatchRowError> errors;
+}
@@ -0,0 +1,9 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BatchRowError {
+    private Integer index; // 0-based position in the request list
+    private String message;
+}
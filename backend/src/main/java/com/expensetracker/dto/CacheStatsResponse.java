@@ -0,0 +1,13 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CacheStatsResponse {
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long evictions;     // dropped by size or TTL
+    private Long invalidations; // dropped because the user wrote data
+    private Long size;          // cached (user, region) groups
+}
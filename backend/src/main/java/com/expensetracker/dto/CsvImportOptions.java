@@ -0,0 +1,17 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+
+// Column mapping for POST /api/import/csv, bound from query parameters.
+// Column names are matched against the CSV header, ignoring case.
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CsvImportOptions {
+    private String type = "EXPENSE";      // EXPENSE, INCOME, or SIGNED (negative = expense, positive = income)
+    private String titleColumn = "title";
+    private String amountColumn = "amount";
+    private String dateColumn = "date";
+    private String labelColumn;           // category/source column; defaults to "category" or "source"
+    private String defaultLabel = "Other"; // used when the label column is missing or blank
+    private String dateFormat = "yyyy-MM-dd";
+    private Character delimiter = ',';
+}
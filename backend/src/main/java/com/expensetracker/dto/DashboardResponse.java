@@ -0,0 +1,15 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class DashboardResponse {
+    private Double totalIncome;
+    private Double totalExpense;
+    private Double balance;
+    private List<MonthlySummary> incomeMonthly;
+    private List<MonthlySummary> expenseMonthly;
+    private BudgetResponse currentBudget;
+    private List<RecentTransaction> recentTransactions;
+}
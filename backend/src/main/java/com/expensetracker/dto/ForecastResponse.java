@@ -0,0 +1,12 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ForecastResponse {
+    private LocalDate generatedOn;
+    private LocalDate overrunDate; // earliest predicted budget overrun across the horizon
+    private List<MonthForecast> months;
+}
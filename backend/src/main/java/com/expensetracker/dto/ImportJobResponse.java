@@ -0,0 +1,20 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.time.Instant;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ImportJobResponse {
+    private String jobId;
+    private String type;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private Long rowsRead;
+    private Long rowsImported;
+    private Long rowsFailed;
+    private Double rowsPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String message;
+    private List<ImportRowError> errors; // first errors only
+}
@@ -0,0 +1,9 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ImportRowError {
+    private Long line; // 1-based line in the CSV, header included
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class LedgerEntry {
+    private String type; // Income, Expense
+    private Long id;
+    private String title;
+    private Double amount;
+    private String label; // expense category or income source
+    private LocalDate date;
+    private Double balance; // income minus expenses up to and including this entry
+}
@@ -0,0 +1,17 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MonthForecast {
+    private Integer month;
+    private Integer year;
+    private Double spentToDate;        // expenses already recorded (current month only, else 0)
+    private Double projectedRecurring; // recurring occurrences still to come this month
+    private Double projectedTotal;
+    private Double budgetLimit;        // null when no budget is set for the month
+    private LocalDate overrunDate;     // first day the projection exceeds the budget, or null
+    private List<CategorySummary> categories; // projected total per category
+}
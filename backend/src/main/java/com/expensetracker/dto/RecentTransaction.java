@@ -0,0 +1,13 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RecentTransaction {
+    private Long id;
+    private String title;
+    private Double amount;
+    private String type; // Income, Expense
+    private LocalDate date;
+}
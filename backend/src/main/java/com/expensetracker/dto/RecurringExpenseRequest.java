@@ -8,6 +8,6 @@ public class RecurringExpenseRequest {
     private String title;
     private Double amount;
     private String category;
-    private String frequency; // MONTHLY, WEEKLY
+    private String frequency; // DAILY, WEEKLY, BIWEEKLY, MONTHLY, QUARTERLY, YEARLY, MONTHLY_NTH_WEEKDAY
     private LocalDate nextDueDate;
 }
@@ -0,0 +1,14 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RecurringRunStats {
+    private Instant startedAt;
+    private Long durationMs;
+    private Integer partitions;
+    private Integer chunks;
+    private Integer seriesProcessed;
+    private Integer expensesCreated;
+}
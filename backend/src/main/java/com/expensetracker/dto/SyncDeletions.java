@@ -0,0 +1,13 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class SyncDeletions {
+    private List<Long> expenses = new ArrayList<>();
+    private List<Long> incomes = new ArrayList<>();
+    private List<Long> budgets = new ArrayList<>();
+    private List<Long> recurring = new ArrayList<>();
+}
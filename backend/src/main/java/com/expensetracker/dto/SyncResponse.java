@@ -0,0 +1,15 @@
+package com.expensetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class SyncResponse {
+    private String token;    // pass back as ?since= on the next sync
+    private boolean reset;   // true: full snapshot, replace local state instead of merging
+    private List<ExpenseResponse> expenses;
+    private List<IncomeResponse> incomes;
+    private List<BudgetResponse> budgets; // all of the user's budgets whenever any could have changed
+    private List<RecurringExpenseResponse> recurring;
+    private SyncDeletions deleted;
+}
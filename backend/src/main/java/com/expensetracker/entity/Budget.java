@@ -2,9 +2,10 @@ package com.expensetracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.Instant;
 
 @Entity
-@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month", "year"}))
+@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(name = "uk_budgets_user_month_year", columnNames = {"user_id", "month", "budget_year"}))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Budget {
 
@@ -21,6 +22,10 @@ public class Budget {
     @Column(name = "budget_year", nullable = false)
     private Integer year;
 
+    // Written by the database only: DEFAULT now() on insert, updated_at = now() in every UPDATE
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private Instant updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
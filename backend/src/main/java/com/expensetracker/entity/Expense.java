@@ -2,15 +2,22 @@ package com.expensetracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_date", columnList = "user_id, date DESC, id DESC"),
+        @Index(name = "idx_expenses_user_category_date", columnList = "user_id, category, date DESC, id DESC"),
+        @Index(name = "idx_expenses_user_updated", columnList = "user_id, updated_at")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Expense {
 
+    // Pooled sequence (see V4 migration) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_id_gen")
+    @SequenceGenerator(name = "expenses_id_gen", sequenceName = "expenses_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +32,14 @@ public class Expense {
     @Column(nullable = false)
     private LocalDate date;
 
+    // Set when generated by a recurring series; unique with date (see V5 migration)
+    @Column(name = "recurring_expense_id")
+    private Long recurringExpenseId;
+
+    // Written by the database only: DEFAULT now() on insert, updated_at = now() in every UPDATE
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private Instant updatedAt;
+
     // Each expense belongs to a user
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -2,15 +2,22 @@ package com.expensetracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "incomes")
+@Table(name = "incomes", indexes = {
+        @Index(name = "idx_incomes_user_date", columnList = "user_id, date DESC, id DESC"),
+        @Index(name = "idx_incomes_user_source_date", columnList = "user_id, source, date DESC, id DESC"),
+        @Index(name = "idx_incomes_user_updated", columnList = "user_id, updated_at")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Income {
 
+    // Pooled sequence (see V4 migration) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incomes_id_gen")
+    @SequenceGenerator(name = "incomes_id_gen", sequenceName = "incomes_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +32,10 @@ public class Income {
     @Column(nullable = false)
     private LocalDate date;
 
+    // Written by the database only: DEFAULT now() on insert, updated_at = now() in every UPDATE
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private Instant updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
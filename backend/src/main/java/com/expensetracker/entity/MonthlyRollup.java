@@ -0,0 +1,38 @@
+package com.expensetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Running total of a user's expenses (per category) or incomes (per source) in one month.
+// Rows are only changed through MonthlyRollupRepository.applyDelta.
+@Entity
+@Table(name = "monthly_rollups")
+@IdClass(MonthlyRollupId.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MonthlyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private RollupKind kind;
+
+    @Id
+    @Column(name = "rollup_year")
+    private Integer year;
+
+    @Id
+    @Column(name = "rollup_month")
+    private Integer month; // 1-12
+
+    @Id
+    private String label;
+
+    @Column(nullable = false)
+    private Double total;
+
+    @Column(nullable = false)
+    private Long entryCount;
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.entity;
+
+import lombok.*;
+import java.io.Serializable;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+public class MonthlyRollupId implements Serializable {
+    private Long userId;
+    private RollupKind kind;
+    private Integer year;
+    private Integer month;
+    private String label;
+}
@@ -2,10 +2,15 @@ package com.expensetracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "recurring_expenses")
+// The partial index on active, due series (idx_recurring_expenses_active_due) is only in the V2 migration
+@Table(name = "recurring_expenses", indexes = {
+        @Index(name = "idx_recurring_expenses_user_due", columnList = "user_id, next_due_date"),
+        @Index(name = "idx_recurring_expenses_user_updated", columnList = "user_id, updated_at")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class RecurringExpense {
 
@@ -23,14 +28,22 @@ public class RecurringExpense {
     private String category;
 
     @Column(nullable = false)
-    private String frequency; // MONTHLY, WEEKLY
+    private String frequency; // see RecurrenceRule: DAILY, WEEKLY, BIWEEKLY, MONTHLY, QUARTERLY, YEARLY, MONTHLY_NTH_WEEKDAY
 
     @Column(nullable = false)
     private LocalDate nextDueDate;
 
+    // First due date; every occurrence is computed from it
+    @Column(nullable = false)
+    private LocalDate anchorDate;
+
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Written by the database only: DEFAULT now() on insert, updated_at = now() in every UPDATE
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private Instant updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,6 @@
+package com.expensetracker.entity;
+
+public enum RollupKind {
+    EXPENSE, // label is the expense category
+    INCOME   // label is the income source
+}
@@ -0,0 +1,9 @@
+package com.expensetracker.entity;
+
+// What a sync tombstone refers to; stored by name in sync_tombstones.entity
+public enum SyncEntity {
+    EXPENSE,
+    INCOME,
+    BUDGET,
+    RECURRING
+}
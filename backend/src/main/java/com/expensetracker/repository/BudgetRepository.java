@@ -2,11 +2,46 @@ package com.expensetracker.repository;
 
 import com.expensetracker.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByUserIdAndMonthAndYear(Long userId, Integer month, Integer year);
     List<Budget> findByUserIdOrderByYearDescMonthDesc(Long userId);
+
+    // Budgets between two months inclusive, encoded as year * 12 + month
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.year * 12 + b.month BETWEEN :fromMonth AND :toMonth")
+    List<Budget> findBetweenMonths(@Param("userId") Long userId,
+                                   @Param("fromMonth") int fromMonth,
+                                   @Param("toMonth") int toMonth);
+
+    // Insert or replace the limit for (user, month, year) in one statement; returns the budget id.
+    // Relies on uk_budgets_user_month_year, so concurrent requests cannot create duplicates.
+    @Transactional
+    @Query(value = "INSERT INTO budgets (user_id, month, budget_year, monthly_limit) " +
+                   "VALUES (:userId, :month, :year, :monthlyLimit) " +
+                   "ON CONFLICT (user_id, month, budget_year) DO UPDATE SET monthly_limit = EXCLUDED.monthly_limit, updated_at = now() " +
+                   "RETURNING id",
+           nativeQuery = true)
+    Long upsert(@Param("userId") Long userId,
+                @Param("month") Integer month,
+                @Param("year") Integer year,
+                @Param("monthlyLimit") Double monthlyLimit);
+
+    // Ownership-checked delete that leaves the sync tombstone; 0 when no budget with this id belongs to the user
+    @Modifying
+    @Transactional
+    @Query(value = "WITH d AS (DELETE FROM budgets WHERE id = :id AND user_id = :userId RETURNING id, user_id) " +
+                   "INSERT INTO sync_tombstones (user_id, entity, entity_id) SELECT user_id, 'BUDGET', id FROM d",
+           nativeQuery = true)
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(b) > 0 FROM Budget b WHERE b.user.id = :userId AND b.updatedAt >= :since")
+    boolean existsChangedSince(@Param("userId") Long userId, @Param("since") Instant since);
 }
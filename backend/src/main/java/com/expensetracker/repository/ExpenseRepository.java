@@ -1,38 +1,90 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.ExpenseResponse;
 import com.expensetracker.entity.Expense;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
+    // List reads select straight into ExpenseResponse: no managed entities, snapshots or proxies
+
     // Get all expenses for a user
-    List<Expense> findByUserIdOrderByDateDesc(Long userId);
+    @Query("SELECT new com.expensetracker.dto.ExpenseResponse(e.id, e.title, e.amount, e.category, e.date) FROM Expense e " +
+           "WHERE e.user.id = :userId ORDER BY e.date DESC")
+    List<ExpenseResponse> findByUserIdOrderByDateDesc(@Param("userId") Long userId);
 
     // Filter by category
-    List<Expense> findByUserIdAndCategoryOrderByDateDesc(Long userId, String category);
-
-    // Filter by date range
-    List<Expense> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate start, LocalDate end);
-
-    // Monthly summary: total per month for a given year
-    @Query("SELECT CAST(EXTRACT(MONTH FROM e.date) AS INTEGER) as month, SUM(e.amount) as total " +
-           "FROM Expense e WHERE e.user.id = :userId AND CAST(EXTRACT(YEAR FROM e.date) AS INTEGER) = :year " +
-           "GROUP BY EXTRACT(MONTH FROM e.date) ORDER BY EXTRACT(MONTH FROM e.date)")
-    List<Object[]> getMonthlySummary(@Param("userId") Long userId, @Param("year") int year);
-
-    // Category summary: total per category
-    @Query("SELECT e.category, SUM(e.amount) FROM Expense e " +
-           "WHERE e.user.id = :userId GROUP BY e.category")
-    List<Object[]> getCategorySummary(@Param("userId") Long userId);
-
-    // Total expenses for a user in a given month/year
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e " +
-           "WHERE e.user.id = :userId AND CAST(EXTRACT(MONTH FROM e.date) AS INTEGER) = :month " +
-           "AND CAST(EXTRACT(YEAR FROM e.date) AS INTEGER) = :year")
-    Double getTotalByMonth(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year);
+    @Query("SELECT new com.expensetracker.dto.ExpenseResponse(e.id, e.title, e.amount, e.category, e.date) FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.category = :category ORDER BY e.date DESC")
+    List<ExpenseResponse> findByUserIdAndCategoryOrderByDateDesc(@Param("userId") Long userId,
+                                                                 @Param("category") String category);
+
+    // Filter by date range (inclusive)
+    @Query("SELECT new com.expensetracker.dto.ExpenseResponse(e.id, e.title, e.amount, e.category, e.date) FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.date BETWEEN :start AND :end ORDER BY e.date DESC")
+    List<ExpenseResponse> findByUserIdAndDateBetweenOrderByDateDesc(@Param("userId") Long userId,
+                                                                    @Param("start") LocalDate start,
+                                                                    @Param("end") LocalDate end);
+
+    // Keyset page: rows strictly after (afterDate, afterId) in (date DESC, id DESC) order
+    @Query("SELECT new com.expensetracker.dto.ExpenseResponse(e.id, e.title, e.amount, e.category, e.date) FROM Expense e WHERE e.user.id = :userId AND e.date >= :startDate " +
+           "AND (e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseResponse> findPage(@Param("userId") Long userId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("afterDate") LocalDate afterDate,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    // Keyset page filtered by category
+    @Query("SELECT new com.expensetracker.dto.ExpenseResponse(e.id, e.title, e.amount, e.category, e.date) FROM Expense e WHERE e.user.id = :userId AND e.category = :category AND e.date >= :startDate " +
+           "AND (e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseResponse> findPageByCategory(@Param("userId") Long userId,
+                                             @Param("category") String category,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("afterDate") LocalDate afterDate,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // Occurrences already generated for these series on or after a date, as (seriesId, date) pairs
+    @Query("SELECT e.recurringExpenseId, e.date FROM Expense e " +
+           "WHERE e.recurringExpenseId IN :seriesIds AND e.date >= :fromDate")
+    List<Object[]> findOccurrences(@Param("seriesIds") List<Long> seriesIds,
+                                   @Param("fromDate") LocalDate fromDate);
+
+    // Ownership-checked writes: one statement each, matching on id AND user_id. They return the
+    // previous (amount, category, date) for the rollup delta, or no row when nothing matched.
+    @Transactional
+    @Query(value = "UPDATE expenses t SET title = :title, amount = :amount, category = :category, date = :date, updated_at = now() " +
+                   "FROM (SELECT id, amount, category, date FROM expenses WHERE id = :id AND user_id = :userId FOR UPDATE) old " +
+                   "WHERE t.id = old.id RETURNING old.amount, old.category, old.date",
+           nativeQuery = true)
+    List<Object[]> updateOwned(@Param("id") Long id,
+                               @Param("userId") Long userId,
+                               @Param("title") String title,
+                               @Param("amount") Double amount,
+                               @Param("category") String category,
+                               @Param("date") LocalDate date);
+
+    // Also leaves the sync tombstone, in the same statement
+    @Transactional
+    @Query(value = "WITH d AS (DELETE FROM expenses WHERE id = :id AND user_id = :userId RETURNING id, user_id, amount, category, date), " +
+                   "t AS (INSERT INTO sync_tombstones (user_id, entity, entity_id) SELECT user_id, 'EXPENSE', id FROM d) " +
+                   "SELECT amount, category, date FROM d",
+           nativeQuery = true)
+    List<Object[]> deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Rows inserted or updated since a sync token (Instant.EPOCH: all of them)
+    @Query("SELECT new com.expensetracker.dto.ExpenseResponse(e.id, e.title, e.amount, e.category, e.date) FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.updatedAt >= :since ORDER BY e.id")
+    List<ExpenseResponse> findChangedSince(@Param("userId") Long userId, @Param("since") Instant since);
 }
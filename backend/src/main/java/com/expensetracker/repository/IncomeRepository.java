@@ -1,35 +1,81 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.IncomeResponse;
 import com.expensetracker.entity.Income;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 public interface IncomeRepository extends JpaRepository<Income, Long> {
 
-    List<Income> findByUserIdOrderByDateDesc(Long userId);
+    // List reads select straight into IncomeResponse (see ExpenseRepository)
 
-    List<Income> findByUserIdAndSourceOrderByDateDesc(Long userId, String source);
+    @Query("SELECT new com.expensetracker.dto.IncomeResponse(i.id, i.title, i.amount, i.source, i.date) FROM Income i " +
+           "WHERE i.user.id = :userId ORDER BY i.date DESC")
+    List<IncomeResponse> findByUserIdOrderByDateDesc(@Param("userId") Long userId);
 
-    List<Income> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate start, LocalDate end);
+    @Query("SELECT new com.expensetracker.dto.IncomeResponse(i.id, i.title, i.amount, i.source, i.date) FROM Income i " +
+           "WHERE i.user.id = :userId AND i.source = :source ORDER BY i.date DESC")
+    List<IncomeResponse> findByUserIdAndSourceOrderByDateDesc(@Param("userId") Long userId,
+                                                              @Param("source") String source);
 
-    // Monthly summary for income
-    @Query("SELECT CAST(EXTRACT(MONTH FROM i.date) AS INTEGER) as month, SUM(i.amount) as total " +
-           "FROM Income i WHERE i.user.id = :userId AND CAST(EXTRACT(YEAR FROM i.date) AS INTEGER) = :year " +
-           "GROUP BY EXTRACT(MONTH FROM i.date) ORDER BY EXTRACT(MONTH FROM i.date)")
-    List<Object[]> getMonthlySummary(@Param("userId") Long userId, @Param("year") int year);
+    @Query("SELECT new com.expensetracker.dto.IncomeResponse(i.id, i.title, i.amount, i.source, i.date) FROM Income i " +
+           "WHERE i.user.id = :userId AND i.date BETWEEN :start AND :end ORDER BY i.date DESC")
+    List<IncomeResponse> findByUserIdAndDateBetweenOrderByDateDesc(@Param("userId") Long userId,
+                                                                   @Param("start") LocalDate start,
+                                                                   @Param("end") LocalDate end);
 
-    // Source summary
-    @Query("SELECT i.source, SUM(i.amount) FROM Income i " +
-           "WHERE i.user.id = :userId GROUP BY i.source")
-    List<Object[]> getSourceSummary(@Param("userId") Long userId);
+    // Keyset page: rows strictly after (afterDate, afterId) in (date DESC, id DESC) order
+    @Query("SELECT new com.expensetracker.dto.IncomeResponse(i.id, i.title, i.amount, i.source, i.date) FROM Income i WHERE i.user.id = :userId AND i.date >= :startDate " +
+           "AND (i.date < :afterDate OR (i.date = :afterDate AND i.id < :afterId)) " +
+           "ORDER BY i.date DESC, i.id DESC")
+    List<IncomeResponse> findPage(@Param("userId") Long userId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("afterDate") LocalDate afterDate,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
 
-    // Total income for a user in a given month/year
-    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Income i " +
-           "WHERE i.user.id = :userId AND CAST(EXTRACT(MONTH FROM i.date) AS INTEGER) = :month " +
-           "AND CAST(EXTRACT(YEAR FROM i.date) AS INTEGER) = :year")
-    Double getTotalByMonth(@Param("userId") Long userId, @Param("month") int month, @Param("year") int year);
+    // Keyset page filtered by source
+    @Query("SELECT new com.expensetracker.dto.IncomeResponse(i.id, i.title, i.amount, i.source, i.date) FROM Income i WHERE i.user.id = :userId AND i.source = :source AND i.date >= :startDate " +
+           "AND (i.date < :afterDate OR (i.date = :afterDate AND i.id < :afterId)) " +
+           "ORDER BY i.date DESC, i.id DESC")
+    List<IncomeResponse> findPageBySource(@Param("userId") Long userId,
+                                          @Param("source") String source,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("afterDate") LocalDate afterDate,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // Ownership-checked writes: one statement each, matching on id AND user_id. They return the
+    // previous (amount, source, date) for the rollup delta, or no row when nothing matched.
+    @Transactional
+    @Query(value = "UPDATE incomes t SET title = :title, amount = :amount, source = :source, date = :date, updated_at = now() " +
+                   "FROM (SELECT id, amount, source, date FROM incomes WHERE id = :id AND user_id = :userId FOR UPDATE) old " +
+                   "WHERE t.id = old.id RETURNING old.amount, old.source, old.date",
+           nativeQuery = true)
+    List<Object[]> updateOwned(@Param("id") Long id,
+                               @Param("userId") Long userId,
+                               @Param("title") String title,
+                               @Param("amount") Double amount,
+                               @Param("source") String source,
+                               @Param("date") LocalDate date);
+
+    // Also leaves the sync tombstone, in the same statement
+    @Transactional
+    @Query(value = "WITH d AS (DELETE FROM incomes WHERE id = :id AND user_id = :userId RETURNING id, user_id, amount, source, date), " +
+                   "t AS (INSERT INTO sync_tombstones (user_id, entity, entity_id) SELECT user_id, 'INCOME', id FROM d) " +
+                   "SELECT amount, source, date FROM d",
+           nativeQuery = true)
+    List<Object[]> deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Rows inserted or updated since a sync token (Instant.EPOCH: all of them)
+    @Query("SELECT new com.expensetracker.dto.IncomeResponse(i.id, i.title, i.amount, i.source, i.date) FROM Income i " +
+           "WHERE i.user.id = :userId AND i.updatedAt >= :since ORDER BY i.id")
+    List<IncomeResponse> findChangedSince(@Param("userId") Long userId, @Param("since") Instant since);
 }
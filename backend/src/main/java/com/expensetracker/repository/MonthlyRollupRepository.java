@@ -0,0 +1,78 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.MonthlyRollup;
+import com.expensetracker.entity.MonthlyRollupId;
+import com.expensetracker.entity.RollupKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    // Atomically add a delta to one rollup row, creating it if needed
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO monthly_rollups (user_id, kind, rollup_year, rollup_month, label, total, entry_count) " +
+                   "VALUES (:userId, :kind, :year, :month, :label, :amount, :count) " +
+                   "ON CONFLICT (user_id, kind, rollup_year, rollup_month, label) DO UPDATE SET " +
+                   "total = monthly_rollups.total + EXCLUDED.total, " +
+                   "entry_count = monthly_rollups.entry_count + EXCLUDED.entry_count",
+           nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId,
+                    @Param("kind") String kind,
+                    @Param("year") int year,
+                    @Param("month") int month,
+                    @Param("label") String label,
+                    @Param("amount") double amount,
+                    @Param("count") long count);
+
+    // Total per month for a given year (at most 12 rows)
+    @Query("SELECT r.month, SUM(r.total) FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.kind = :kind AND r.year = :year " +
+           "GROUP BY r.month HAVING SUM(r.entryCount) > 0 ORDER BY r.month")
+    List<Object[]> getMonthlySummary(@Param("userId") Long userId,
+                                     @Param("kind") RollupKind kind,
+                                     @Param("year") int year);
+
+    // Total per category/source across all months
+    @Query("SELECT r.label, SUM(r.total) FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.kind = :kind " +
+           "GROUP BY r.label HAVING SUM(r.entryCount) > 0")
+    List<Object[]> getLabelSummary(@Param("userId") Long userId, @Param("kind") RollupKind kind);
+
+    // Total per category/source in one month
+    @Query("SELECT r.label, r.total FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.kind = :kind AND r.year = :year AND r.month = :month " +
+           "AND r.entryCount > 0")
+    List<Object[]> getLabelTotalsByMonth(@Param("userId") Long userId,
+                                         @Param("kind") RollupKind kind,
+                                         @Param("month") int month,
+                                         @Param("year") int year);
+
+    // All-time income minus expenses; the ledger's opening balance
+    @Query("SELECT COALESCE(SUM(CASE WHEN r.kind = com.expensetracker.entity.RollupKind.INCOME THEN r.total ELSE -r.total END), 0) " +
+           "FROM MonthlyRollup r WHERE r.userId = :userId")
+    Double getBalance(@Param("userId") Long userId);
+
+    // Total for one month
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.kind = :kind AND r.year = :year AND r.month = :month")
+    Double getTotalByMonth(@Param("userId") Long userId,
+                           @Param("kind") RollupKind kind,
+                           @Param("month") int month,
+                           @Param("year") int year);
+
+    // Totals per (year, month) between two months inclusive, encoded as year * 12 + month
+    @Query("SELECT r.year, r.month, SUM(r.total) FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.kind = :kind " +
+           "AND r.year * 12 + r.month BETWEEN :fromMonth AND :toMonth " +
+           "GROUP BY r.year, r.month")
+    List<Object[]> getTotalsByYearMonth(@Param("userId") Long userId,
+                                        @Param("kind") RollupKind kind,
+                                        @Param("fromMonth") int fromMonth,
+                                        @Param("toMonth") int toMonth);
+}
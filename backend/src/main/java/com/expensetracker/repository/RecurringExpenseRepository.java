@@ -1,12 +1,87 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.RecurringExpenseResponse;
 import com.expensetracker.entity.RecurringExpense;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
-    List<RecurringExpense> findByUserIdOrderByNextDueDateAsc(Long userId);
-    List<RecurringExpense> findByActiveTrueAndNextDueDateLessThanEqual(LocalDate date);
+    // Read-only list, selected straight into the response DTO
+    @Query("SELECT new com.expensetracker.dto.RecurringExpenseResponse(r.id, r.title, r.amount, r.category, " +
+           "r.frequency, r.nextDueDate, r.active) FROM RecurringExpense r " +
+           "WHERE r.user.id = :userId ORDER BY r.nextDueDate ASC")
+    List<RecurringExpenseResponse> findByUserIdOrderByNextDueDateAsc(@Param("userId") Long userId);
+    List<RecurringExpense> findByUserIdAndActiveTrue(Long userId);
+
+    // Claims the next chunk of due series in one user partition (MOD(user_id, partitions)).
+    // Rows locked by another run or instance are skipped, so concurrent runs split the work.
+    @Query(value = "SELECT * FROM recurring_expenses WHERE active AND next_due_date <= :date " +
+                   "AND id > :afterId AND MOD(user_id, :partitions) = :partition " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RecurringExpense> claimDueChunk(@Param("date") LocalDate date,
+                                         @Param("afterId") Long afterId,
+                                         @Param("partitions") int partitions,
+                                         @Param("partition") int partition,
+                                         @Param("limit") int limit);
+
+    // Same claim for specific series (those the due index reports as due)
+    @Query(value = "SELECT * FROM recurring_expenses WHERE id IN (:ids) AND active AND next_due_date <= :date " +
+                   "ORDER BY id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RecurringExpense> claimDueByIds(@Param("ids") List<Long> ids, @Param("date") LocalDate date);
+
+    // (id, nextDueDate) of active series, for the in-memory due index
+    @Query("SELECT r.id, r.nextDueDate FROM RecurringExpense r WHERE r.active = true")
+    List<Object[]> findActiveDueDates();
+
+    @Query("SELECT r.id, r.nextDueDate FROM RecurringExpense r WHERE r.active = true AND r.id IN :ids")
+    List<Object[]> findActiveDueDates(@Param("ids") List<Long> ids);
+
+    // Ownership-checked edit in one statement. The anchor moves to the new due date only when the
+    // schedule changes (expressions see the old row). Returns the active flag, or no row if nothing matched.
+    @Transactional
+    @Query(value = "UPDATE recurring_expenses SET title = :title, amount = :amount, category = :category, " +
+                   "anchor_date = CASE WHEN frequency <> :frequency OR next_due_date <> :nextDueDate " +
+                   "THEN :nextDueDate ELSE anchor_date END, " +
+                   "frequency = :frequency, next_due_date = :nextDueDate, updated_at = now() " +
+                   "WHERE id = :id AND user_id = :userId RETURNING active",
+           nativeQuery = true)
+    List<Boolean> updateOwned(@Param("id") Long id,
+                              @Param("userId") Long userId,
+                              @Param("title") String title,
+                              @Param("amount") Double amount,
+                              @Param("category") String category,
+                              @Param("frequency") String frequency,
+                              @Param("nextDueDate") LocalDate nextDueDate);
+
+    // Returns the updated row as (id, title, amount, category, frequency, next_due_date, active)
+    @Transactional
+    @Query(value = "UPDATE recurring_expenses SET active = :active, updated_at = now() WHERE id = :id AND user_id = :userId " +
+                   "RETURNING id, title, amount, category, frequency, next_due_date, active",
+           nativeQuery = true)
+    List<Object[]> setActiveOwned(@Param("id") Long id, @Param("userId") Long userId, @Param("active") boolean active);
+
+    @Modifying
+    @Transactional
+    @Query(value = "WITH d AS (DELETE FROM recurring_expenses WHERE id = :id AND user_id = :userId RETURNING id, user_id) " +
+                   "INSERT INTO sync_tombstones (user_id, entity, entity_id) SELECT user_id, 'RECURRING', id FROM d",
+           nativeQuery = true)
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    // The recurring job advances next_due_date through the entity, which never writes updated_at
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE recurring_expenses SET updated_at = now() WHERE id IN (:ids)", nativeQuery = true)
+    int touch(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new com.expensetracker.dto.RecurringExpenseResponse(r.id, r.title, r.amount, r.category, " +
+           "r.frequency, r.nextDueDate, r.active) FROM RecurringExpense r " +
+           "WHERE r.user.id = :userId AND r.updatedAt >= :since ORDER BY r.id")
+    List<RecurringExpenseResponse> findChangedSince(@Param("userId") Long userId, @Param("since") Instant since);
 }
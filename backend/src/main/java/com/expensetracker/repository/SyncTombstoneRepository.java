@@ -0,0 +1,31 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    // (entity, entityId) of everything the user deleted since a sync token
+    @Query("SELECT t.entity, t.entityId FROM SyncTombstone t WHERE t.userId = :userId AND t.deletedAt >= :since")
+    List<Object[]> findDeletedSince(@Param("userId") Long userId, @Param("since") Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+
+    // The next sync token, in epoch microseconds: the start of the oldest open transaction, or now.
+    // Rows are stamped with their transaction's start time, so everything stamped before this is
+    // already committed and nothing that commits later can carry an older stamp.
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM LEAST(now(), (SELECT min(xact_start) FROM pg_stat_activity " +
+                   "WHERE datname = current_database() AND backend_type = 'client backend'))) * 1000000 AS BIGINT)",
+           nativeQuery = true)
+    long currentWatermark();
+}
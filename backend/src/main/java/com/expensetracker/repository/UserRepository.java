@@ -2,9 +2,34 @@ package com.expensetracker.repository;
 
 import com.expensetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Version of everything the user owns; not mapped on User so an entity save cannot write it back.
+    // Read-only so a GET reads it from the same replica as the body (DataVersionInterceptor)
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT data_version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findDataVersion(@Param("userId") Long userId);
+
+    // Call after the write it covers: a reader must never see the new version with the old data
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id = :userId", nativeQuery = true)
+    int bumpDataVersion(@Param("userId") Long userId);
+
+    // Same for several users; rows are locked in id order so concurrent chunks cannot deadlock
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id IN " +
+            "(SELECT id FROM users WHERE id IN (:userIds) ORDER BY id FOR UPDATE)", nativeQuery = true)
+    int bumpDataVersions(@Param("userIds") Collection<Long> userIds);
 }
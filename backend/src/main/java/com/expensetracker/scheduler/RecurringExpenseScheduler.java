@@ -1,27 +1,59 @@
 package com.expensetracker.scheduler;
 
+import com.expensetracker.dto.RecurringRunStats;
+import com.expensetracker.service.RecurringDueIndex;
 import com.expensetracker.service.RecurringExpenseService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Component
 public class RecurringExpenseScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseScheduler.class);
 
     private final RecurringExpenseService recurringExpenseService;
+    private final RecurringDueIndex dueIndex;
+    private final int pollLimit;
 
-    public RecurringExpenseScheduler(RecurringExpenseService recurringExpenseService) {
+    public RecurringExpenseScheduler(
+            RecurringExpenseService recurringExpenseService,
+            RecurringDueIndex dueIndex,
+            @Value("${app.recurring.poll-limit:1000}") int pollLimit) {
         this.recurringExpenseService = recurringExpenseService;
+        this.dueIndex = dueIndex;
+        this.pollLimit = pollLimit;
+    }
+
+    // Picks up series shortly after they become due, a bounded number per tick, so new or edited
+    // series do not wait for the nightly run and the midnight backlog is spread out
+    @Scheduled(fixedDelayString = "${app.recurring.poll-interval-ms:60000}", initialDelayString = "${app.recurring.poll-interval-ms:60000}")
+    public void processNewlyDue() {
+        List<Long> due = dueIndex.dueIds(LocalDate.now(), pollLimit);
+        if (due.isEmpty()) {
+            return;
+        }
+
+        RecurringRunStats stats = recurringExpenseService.processDueSeries(due);
+        if (stats.getExpensesCreated() > 0) {
+            logger.info("Recurring poll created {} expense(s) from {} series in {} ms",
+                    stats.getExpensesCreated(), stats.getSeriesProcessed(), stats.getDurationMs());
+        }
     }
 
-    @Scheduled(cron = "0 5 0 * * *")
+    // Full scan of recurring_expenses; catches anything the in-memory index missed
+    @Scheduled(cron = "${app.recurring.reconcile-cron:0 5 0 * * *}")
     public void processDueRecurringExpenses() {
-        int createdExpenses = recurringExpenseService.processDueRecurringExpenses();
-        if (createdExpenses > 0) {
-            logger.info("Recurring scheduler created {} expense(s)", createdExpenses);
+        RecurringRunStats stats = recurringExpenseService.processDueRecurringExpenses();
+        if (stats.getExpensesCreated() > 0) {
+            logger.info("Recurring scheduler created {} expense(s) from {} series in {} ms ({} chunk(s), {} partition(s))",
+                    stats.getExpensesCreated(), stats.getSeriesProcessed(), stats.getDurationMs(),
+                    stats.getChunks(), stats.getPartitions());
         }
     }
 }
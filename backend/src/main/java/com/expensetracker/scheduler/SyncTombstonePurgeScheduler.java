@@ -0,0 +1,28 @@
+package com.expensetracker.scheduler;
+
+import com.expensetracker.service.SyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SyncTombstonePurgeScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncTombstonePurgeScheduler.class);
+
+    private final SyncService syncService;
+
+    public SyncTombstonePurgeScheduler(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // Drops tombstones past app.sync.tombstone-retention-days
+    @Scheduled(cron = "${app.sync.purge-cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        int purged = syncService.purgeTombstones();
+        if (purged > 0) {
+            logger.info("Purged {} sync tombstone(s)", purged);
+        }
+    }
+}
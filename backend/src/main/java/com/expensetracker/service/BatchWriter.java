@@ -0,0 +1,90 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BatchResult;
+import com.expensetracker.dto.BatchRowError;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Validates rows, then writes the valid ones in fixed-size chunks, one transaction per chunk.
+// Hibernate turns each chunk's inserts into JDBC batches (hibernate.jdbc.batch_size).
+@Component
+public class BatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchWriter.class);
+
+    public static final int MAX_ROWS = 10000;
+    private static final int CHUNK_SIZE = 500;
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public BatchWriter(PlatformTransactionManager transactionManager, EntityManager entityManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    // validate returns an error message, or null when the row is fine
+    public <T> BatchResult write(List<T> rows, Function<T, String> validate, Consumer<List<T>> writeChunk) {
+        if (rows.size() > MAX_ROWS) {
+            throw new RuntimeException("Batch too large (max " + MAX_ROWS + " rows)");
+        }
+
+        List<BatchRowError> errors = new ArrayList<>();
+        List<T> chunk = new ArrayList<>();
+        List<Integer> chunkIndexes = new ArrayList<>();
+        int created = 0;
+
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            String error = row == null ? "Row is empty" : validate.apply(row);
+            if (error != null) {
+                errors.add(new BatchRowError(i, error));
+                continue;
+            }
+
+            chunk.add(row);
+            chunkIndexes.add(i);
+            if (chunk.size() == CHUNK_SIZE) {
+                created += writeChunk(chunk, chunkIndexes, writeChunk, errors);
+                chunk = new ArrayList<>();
+                chunkIndexes = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += writeChunk(chunk, chunkIndexes, writeChunk, errors);
+        }
+
+        errors.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return new BatchResult(rows.size(), created, errors);
+    }
+
+    private <T> int writeChunk(List<T> chunk, List<Integer> indexes, Consumer<List<T>> writeChunk, List<BatchRowError> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writeChunk.accept(chunk);
+                // Send the batched inserts now and drop the managed entities before the next chunk
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return chunk.size();
+        } catch (DataAccessException | PersistenceException e) {
+            // The whole chunk rolled back; report its rows and keep going with the next one
+            logger.warn("Batch chunk of {} row(s) failed: {}", chunk.size(), e.getMessage());
+            for (Integer index : indexes) {
+                errors.add(new BatchRowError(index, "Could not be saved"));
+            }
+            return 0;
+        }
+    }
+}
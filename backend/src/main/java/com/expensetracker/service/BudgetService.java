@@ -3,14 +3,18 @@ package com.expensetracker.service;
 import com.expensetracker.dto.BudgetRequest;
 import com.expensetracker.dto.BudgetResponse;
 import com.expensetracker.entity.Budget;
-import com.expensetracker.entity.User;
+import com.expensetracker.entity.RollupKind;
 import com.expensetracker.repository.BudgetRepository;
-import com.expensetracker.repository.ExpenseRepository;
-import com.expensetracker.repository.UserRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,27 +22,22 @@ import java.util.stream.Collectors;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final ExpenseRepository expenseRepository;
-    private final UserRepository userRepository;
-
-    public BudgetService(BudgetRepository budgetRepository, ExpenseRepository expenseRepository, UserRepository userRepository) {
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final SummaryCache summaryCache;
+    private final DataVersions dataVersions;
+
+    public BudgetService(
+            BudgetRepository budgetRepository,
+            MonthlyRollupRepository monthlyRollupRepository,
+            SummaryCache summaryCache,
+            DataVersions dataVersions) {
         this.budgetRepository = budgetRepository;
-        this.expenseRepository = expenseRepository;
-        this.userRepository = userRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.summaryCache = summaryCache;
+        this.dataVersions = dataVersions;
     }
 
-    private BudgetResponse toResponse(Budget budget) {
-        // Calculate spent amount for the budget's month/year
-        LocalDate startOfMonth = LocalDate.of(budget.getYear(), budget.getMonth(), 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        
-        // Sum expenses for this user in this month
-        Double spent = expenseRepository.findByUserIdAndDateBetweenOrderByDateDesc(
-                budget.getUser().getId(), startOfMonth, endOfMonth)
-                .stream()
-                .mapToDouble(e -> e.getAmount())
-                .sum();
-
+    private BudgetResponse toResponse(Budget budget, Double spent) {
         Double remaining = budget.getMonthlyLimit() - spent;
         Double percentUsed = budget.getMonthlyLimit() > 0 ? (spent / budget.getMonthlyLimit()) * 100 : 0.0;
         
@@ -61,43 +60,85 @@ public class BudgetService {
         );
     }
 
+    // Sum of this user's expenses in the budget's month/year
+    private Double spentInMonth(Long userId, Budget budget) {
+        return monthlyRollupRepository.getTotalByMonth(userId, RollupKind.EXPENSE, budget.getMonth(), budget.getYear());
+    }
+
     public List<BudgetResponse> getBudgets(Long userId) {
-        return budgetRepository.findByUserIdOrderByYearDescMonthDesc(userId)
-                .stream()
-                .map(this::toResponse)
+        List<Budget> budgets = budgetRepository.findByUserIdOrderByYearDescMonthDesc(userId);
+        if (budgets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Budgets are ordered newest first, so the last one is the oldest month
+        YearMonth newest = YearMonth.of(budgets.get(0).getYear(), budgets.get(0).getMonth());
+        Budget oldestBudget = budgets.get(budgets.size() - 1);
+        YearMonth oldest = YearMonth.of(oldestBudget.getYear(), oldestBudget.getMonth());
+
+        // One grouped SUM over the whole span instead of one query per budget
+        Map<YearMonth, Double> spentByMonth = new HashMap<>();
+        for (Object[] row : monthlyRollupRepository.getTotalsByYearMonth(userId, RollupKind.EXPENSE,
+                oldest.getYear() * 12 + oldest.getMonthValue(), newest.getYear() * 12 + newest.getMonthValue())) {
+            spentByMonth.put(YearMonth.of((Integer) row[0], (Integer) row[1]), (Double) row[2]);
+        }
+
+        return budgets.stream()
+                .map(budget -> toResponse(budget,
+                        spentByMonth.getOrDefault(YearMonth.of(budget.getYear(), budget.getMonth()), 0.0)))
                 .collect(Collectors.toList());
     }
 
     public BudgetResponse getBudgetForMonth(Long userId, Integer month, Integer year) {
+        return summaryCache.get(userId, SummaryCache.Region.BUDGET, month + "-" + year,
+                () -> loadBudgetForMonth(userId, month, year));
+    }
+
+    private BudgetResponse loadBudgetForMonth(Long userId, Integer month, Integer year) {
         Optional<Budget> budgetOpt = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
-        return budgetOpt.map(this::toResponse).orElse(null);
+        return budgetOpt.map(budget -> toResponse(budget, spentInMonth(userId, budget))).orElse(null);
     }
 
+    // Atomic upsert on (user, month, year): no find-then-insert race between concurrent requests
+    @Transactional
     public BudgetResponse setBudget(Long userId, BudgetRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        validate(request);
+        Long id;
+        try {
+            id = budgetRepository.upsert(userId, request.getMonth(), request.getYear(), request.getMonthlyLimit());
+        } catch (DataIntegrityViolationException e) {
+            // With the fields validated, the user_id foreign key is the only constraint left to violate
+            throw new RuntimeException("User not found");
+        }
 
-        // Check if budget already exists for this month/year
-        Budget budget = budgetRepository.findByUserIdAndMonthAndYear(userId, request.getMonth(), request.getYear())
-                .orElse(new Budget());
+        Budget saved = new Budget();
+        saved.setId(id);
+        saved.setMonthlyLimit(request.getMonthlyLimit());
+        saved.setMonth(request.getMonth());
+        saved.setYear(request.getYear());
 
-        budget.setUser(user);
-        budget.setMonthlyLimit(request.getMonthlyLimit());
-        budget.setMonth(request.getMonth());
-        budget.setYear(request.getYear());
+        summaryCache.invalidate(userId, SummaryCache.Region.BUDGET);
 
-        Budget saved = budgetRepository.save(budget);
-        return toResponse(saved);
+        dataVersions.bump(userId);
+        return toResponse(saved, spentInMonth(userId, saved));
     }
 
-    public void deleteBudget(Long userId, Long budgetId) {
-        Budget budget = budgetRepository.findById(budgetId)
-                .orElseThrow(() -> new RuntimeException("Budget not found"));
-
-        if (!budget.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+    // Checked up front; a missing field would otherwise fail the upsert on a NOT NULL column
+    private static void validate(BudgetRequest request) {
+        if (request.getMonthlyLimit() == null || request.getMonth() == null || request.getYear() == null) {
+            throw new RuntimeException("monthlyLimit, month and year are required");
         }
+        if (request.getMonth() < 1 || request.getMonth() > 12) {
+            throw new RuntimeException("Invalid month: " + request.getMonth());
+        }
+    }
 
-        budgetRepository.delete(budget);
+    @Transactional
+    public void deleteBudget(Long userId, Long budgetId) {
+        if (budgetRepository.deleteOwned(budgetId, userId) == 0) {
+            throw new RuntimeException(budgetRepository.existsById(budgetId) ? "Unauthorized" : "Budget not found");
+        }
+        summaryCache.invalidate(userId, SummaryCache.Region.BUDGET);
+        dataVersions.bump(userId);
     }
 }
@@ -0,0 +1,98 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class DashboardService {
+
+    private static final int RECENT_TRANSACTIONS = 8;
+
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+    private final BudgetService budgetService;
+    private final TaskExecutor dashboardExecutor;
+
+    public DashboardService(
+            ExpenseService expenseService,
+            IncomeService incomeService,
+            BudgetService budgetService,
+            @Qualifier("dashboardExecutor") TaskExecutor dashboardExecutor) {
+        this.expenseService = expenseService;
+        this.incomeService = incomeService;
+        this.budgetService = budgetService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    // Everything the dashboard shows, gathered with the independent queries running concurrently
+    public DashboardResponse getDashboard(Long userId) {
+        LocalDate now = LocalDate.now();
+
+        CompletableFuture<List<CategorySummary>> categories = async(() -> expenseService.getCategorySummary(userId));
+        CompletableFuture<List<SourceSummary>> sources = async(() -> incomeService.getSourceSummary(userId));
+        CompletableFuture<List<MonthlySummary>> expenseMonthly = async(() -> expenseService.getMonthlySummary(userId));
+        CompletableFuture<List<MonthlySummary>> incomeMonthly = async(() -> incomeService.getMonthlySummary(userId));
+        CompletableFuture<BudgetResponse> budget =
+                async(() -> budgetService.getBudgetForMonth(userId, now.getMonthValue(), now.getYear()));
+        CompletableFuture<CursorPage<ExpenseResponse>> recentExpenses =
+                async(() -> expenseService.getExpensePage(userId, null, null, null, null, RECENT_TRANSACTIONS));
+        CompletableFuture<CursorPage<IncomeResponse>> recentIncomes =
+                async(() -> incomeService.getIncomePage(userId, null, null, null, null, RECENT_TRANSACTIONS));
+
+        double totalExpense = join(categories).stream().mapToDouble(CategorySummary::getTotal).sum();
+        double totalIncome = join(sources).stream().mapToDouble(SourceSummary::getTotal).sum();
+
+        return new DashboardResponse(
+                totalIncome,
+                totalExpense,
+                totalIncome - totalExpense,
+                join(incomeMonthly),
+                join(expenseMonthly),
+                join(budget),
+                mergeRecent(join(recentIncomes).getItems(), join(recentExpenses).getItems())
+        );
+    }
+
+    // Both lists are newest first; keep the newest few of the two combined
+    private List<RecentTransaction> mergeRecent(List<IncomeResponse> incomes, List<ExpenseResponse> expenses) {
+        List<RecentTransaction> merged = new ArrayList<>();
+        for (IncomeResponse income : incomes) {
+            merged.add(new RecentTransaction(income.getId(), income.getTitle(), income.getAmount(), "Income", income.getDate()));
+        }
+        for (ExpenseResponse expense : expenses) {
+            merged.add(new RecentTransaction(expense.getId(), expense.getTitle(), expense.getAmount(), "Expense", expense.getDate()));
+        }
+
+        return merged.stream()
+                .sorted(Comparator.comparing(RecentTransaction::getDate).reversed())
+                .limit(RECENT_TRANSACTIONS)
+                .collect(Collectors.toList());
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, dashboardExecutor);
+    }
+
+    // Rethrow a failed query's own exception rather than the CompletionException wrapper
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
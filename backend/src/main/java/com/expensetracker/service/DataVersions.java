@@ -0,0 +1,47 @@
+package com.expensetracker.service;
+
+import com.expensetracker.config.ReadYourWrites;
+import com.expensetracker.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+// Marks users' data as changed: bumps their data version (the ETag of their GET endpoints) and,
+// once the current transaction commits, keeps their reads on the primary for the read-your-writes
+// window. Every write path calls this after its write, so neither can be missed on its own.
+@Component
+public class DataVersions {
+
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+
+    public DataVersions(UserRepository userRepository, ReadYourWrites readYourWrites) {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+    }
+
+    public void bump(Long userId) {
+        userRepository.bumpDataVersion(userId);
+        afterCommit(() -> readYourWrites.recordWrite(userId));
+    }
+
+    public void bump(Collection<Long> userIds) {
+        userRepository.bumpDataVersions(userIds);
+        afterCommit(() -> userIds.forEach(readYourWrites::recordWrite));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,26 +2,46 @@ package com.expensetracker.service;
 
 import com.expensetracker.dto.*;
 import com.expensetracker.entity.Expense;
+import com.expensetracker.entity.RollupKind;
 import com.expensetracker.entity.User;
 import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
 import com.expensetracker.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
-
-    public ExpenseService(ExpenseRepository expenseRepository, UserRepository userRepository) {
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final SummaryCache summaryCache;
+    private final DataVersions dataVersions;
+    private final BatchWriter batchWriter;
+
+    public ExpenseService(
+            ExpenseRepository expenseRepository,
+            UserRepository userRepository,
+            MonthlyRollupRepository monthlyRollupRepository,
+            MonthlyRollupService monthlyRollupService,
+            SummaryCache summaryCache,
+            DataVersions dataVersions,
+            BatchWriter batchWriter) {
         this.expenseRepository = expenseRepository;
         this.userRepository = userRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.summaryCache = summaryCache;
+        this.dataVersions = dataVersions;
+        this.batchWriter = batchWriter;
     }
 
     // Convert Expense entity → ExpenseResponse DTO
@@ -35,22 +55,46 @@ public class ExpenseService {
         );
     }
 
-    // Get all expenses for a user (with optional filters)
+    // Get all expenses for a user (with optional filters); rows come back as DTO projections
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getExpenses(Long userId, String category, LocalDate startDate, LocalDate endDate) {
-        List<Expense> expenses;
-
         if (category != null && !category.isEmpty()) {
-            expenses = expenseRepository.findByUserIdAndCategoryOrderByDateDesc(userId, category);
+            return expenseRepository.findByUserIdAndCategoryOrderByDateDesc(userId, category);
         } else if (startDate != null && endDate != null) {
-            expenses = expenseRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
+            return expenseRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
+        }
+        return expenseRepository.findByUserIdOrderByDateDesc(userId);
+    }
+
+    // One keyset page of expenses, newest first (optional category and date range)
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getExpensePage(Long userId, String category, LocalDate startDate,
+                                                      LocalDate endDate, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        KeysetCursor after = cursor != null && !cursor.isEmpty() ? KeysetCursor.decode(cursor) : KeysetCursor.start(endDate);
+        LocalDate from = startDate != null ? startDate : KeysetCursor.MIN_DATE;
+        // Fetch one extra row to know whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<ExpenseResponse> expenses;
+        if (category != null && !category.isEmpty()) {
+            expenses = expenseRepository.findPageByCategory(userId, category, from, after.getDate(), after.getId(), page);
         } else {
-            expenses = expenseRepository.findByUserIdOrderByDateDesc(userId);
+            expenses = expenseRepository.findPage(userId, from, after.getDate(), after.getId(), page);
+        }
+
+        String nextCursor = null;
+        if (expenses.size() > pageSize) {
+            expenses = expenses.subList(0, pageSize);
+            ExpenseResponse last = expenses.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
         }
 
-        return expenses.stream().map(this::toResponse).collect(Collectors.toList());
+        return new CursorPage<>(expenses, nextCursor);
     }
 
     // Add a new expense
+    @Transactional
     public ExpenseResponse addExpense(Long userId, ExpenseRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -63,44 +107,99 @@ public class ExpenseService {
         expense.setUser(user);
 
         Expense saved = expenseRepository.save(expense);
+        monthlyRollupService.recordAdded(RollupKind.EXPENSE, userId, saved.getDate(), saved.getCategory(), saved.getAmount());
+        summaryCache.invalidate(userId, SummaryCache.Region.EXPENSE_SUMMARY, SummaryCache.Region.BUDGET);
+        dataVersions.bump(userId);
         return toResponse(saved);
     }
 
-    // Update an existing expense
-    public ExpenseResponse updateExpense(Long userId, Long expenseId, ExpenseRequest request) {
-        Expense expense = expenseRepository.findById(expenseId)
-                .orElseThrow(() -> new RuntimeException("Expense not found"));
-
-        // Make sure this expense belongs to the user
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+    // Add many expenses at once; invalid rows are reported back instead of failing the whole batch
+    public BatchResult addExpenses(Long userId, List<ExpenseRequest> requests) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        // Reference only — no need to load the user for every chunk
+        User user = userRepository.getReferenceById(userId);
+
+        BatchResult result = batchWriter.write(requests, ExpenseService::validate, chunk -> {
+            MonthlyRollupService.Batch rollups = monthlyRollupService.newBatch(RollupKind.EXPENSE);
+            List<Expense> expenses = new ArrayList<>(chunk.size());
+            for (ExpenseRequest request : chunk) {
+                Expense expense = new Expense();
+                expense.setTitle(request.getTitle());
+                expense.setAmount(request.getAmount());
+                expense.setCategory(request.getCategory());
+                expense.setDate(request.getDate());
+                expense.setUser(user);
+                expenses.add(expense);
+                rollups.add(userId, request.getDate(), request.getCategory(), request.getAmount());
+            }
+            expenseRepository.saveAll(expenses);
+            rollups.apply();
+        });
+
+        if (result.getCreated() > 0) {
+            summaryCache.invalidate(userId, SummaryCache.Region.EXPENSE_SUMMARY, SummaryCache.Region.BUDGET);
+            dataVersions.bump(userId);
         }
+        return result;
+    }
 
-        expense.setTitle(request.getTitle());
-        expense.setAmount(request.getAmount());
-        expense.setCategory(request.getCategory());
-        expense.setDate(request.getDate());
+    private static String validate(ExpenseRequest request) {
+        if (request.getTitle() == null || request.getTitle().isBlank()) return "Title is required";
+        if (request.getAmount() == null || request.getAmount() <= 0) return "Amount must be greater than zero";
+        if (request.getCategory() == null || request.getCategory().isBlank()) return "Category is required";
+        if (request.getDate() == null) return "Date is required";
+        return null;
+    }
 
-        Expense updated = expenseRepository.save(expense);
-        return toResponse(updated);
+    // Update an existing expense: one UPDATE ... WHERE id AND user_id that returns the old values
+    @Transactional
+    public ExpenseResponse updateExpense(Long userId, Long expenseId, ExpenseRequest request) {
+        List<Object[]> old = expenseRepository.updateOwned(expenseId, userId,
+                request.getTitle(), request.getAmount(), request.getCategory(), request.getDate());
+        if (old.isEmpty()) {
+            throw notOwned(expenseId);
+        }
+
+        Object[] previous = old.get(0);
+        monthlyRollupService.recordChanged(RollupKind.EXPENSE, userId,
+                NativeColumns.dateOf(previous[2]), (String) previous[1], ((Number) previous[0]).doubleValue(),
+                request.getDate(), request.getCategory(), request.getAmount());
+        summaryCache.invalidate(userId, SummaryCache.Region.EXPENSE_SUMMARY, SummaryCache.Region.BUDGET);
+        dataVersions.bump(userId);
+        return new ExpenseResponse(expenseId, request.getTitle(), request.getAmount(), request.getCategory(), request.getDate());
     }
 
     // Delete an expense
+    @Transactional
     public void deleteExpense(Long userId, Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId)
-                .orElseThrow(() -> new RuntimeException("Expense not found"));
-
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+        List<Object[]> deleted = expenseRepository.deleteOwned(expenseId, userId);
+        if (deleted.isEmpty()) {
+            throw notOwned(expenseId);
         }
 
-        expenseRepository.delete(expense);
+        Object[] row = deleted.get(0);
+        monthlyRollupService.recordRemoved(RollupKind.EXPENSE, userId,
+                NativeColumns.dateOf(row[2]), (String) row[1], ((Number) row[0]).doubleValue());
+        summaryCache.invalidate(userId, SummaryCache.Region.EXPENSE_SUMMARY, SummaryCache.Region.BUDGET);
+        dataVersions.bump(userId);
+    }
+
+    // Nothing matched (id, user): only now look up which error it is
+    private RuntimeException notOwned(Long expenseId) {
+        return new RuntimeException(expenseRepository.existsById(expenseId) ? "Unauthorized" : "Expense not found");
     }
 
     // Monthly summary (for bar chart)
     public List<MonthlySummary> getMonthlySummary(Long userId) {
         int currentYear = Year.now().getValue();
-        List<Object[]> results = expenseRepository.getMonthlySummary(userId, currentYear);
+        return summaryCache.get(userId, SummaryCache.Region.EXPENSE_SUMMARY, "monthly:" + currentYear,
+                () -> loadMonthlySummary(userId, currentYear));
+    }
+
+    private List<MonthlySummary> loadMonthlySummary(Long userId, int currentYear) {
+        List<Object[]> results = monthlyRollupRepository.getMonthlySummary(userId, RollupKind.EXPENSE, currentYear);
 
         List<MonthlySummary> summaries = new ArrayList<>();
         for (Object[] row : results) {
@@ -113,7 +212,12 @@ public class ExpenseService {
 
     // Category summary (for pie chart)
     public List<CategorySummary> getCategorySummary(Long userId) {
-        List<Object[]> results = expenseRepository.getCategorySummary(userId);
+        return summaryCache.get(userId, SummaryCache.Region.EXPENSE_SUMMARY, "category",
+                () -> loadCategorySummary(userId));
+    }
+
+    private List<CategorySummary> loadCategorySummary(Long userId) {
+        List<Object[]> results = monthlyRollupRepository.getLabelSummary(userId, RollupKind.EXPENSE);
 
         List<CategorySummary> summaries = new ArrayList<>();
         for (Object[] row : results) {
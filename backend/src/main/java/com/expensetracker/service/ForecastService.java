@@ -0,0 +1,146 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CategorySummary;
+import com.expensetracker.dto.ForecastResponse;
+import com.expensetracker.dto.MonthForecast;
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.RecurringExpense;
+import com.expensetracker.entity.RollupKind;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.RecurringExpenseRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+// Projects spending for the rest of this month and the next few months:
+// month-to-date expenses (current month) plus the occurrences of active recurring series.
+// Occurrences are counted in closed form (RecurrenceRule.countBetween), so the cost is
+// O(series x months), and the overrun day is found by binary search over the month.
+@Service
+public class ForecastService {
+
+    public static final int MAX_MONTHS = 24;
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final BudgetRepository budgetRepository;
+
+    public ForecastService(
+            RecurringExpenseRepository recurringExpenseRepository,
+            MonthlyRollupRepository monthlyRollupRepository,
+            BudgetRepository budgetRepository) {
+        this.recurringExpenseRepository = recurringExpenseRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.budgetRepository = budgetRepository;
+    }
+
+    public ForecastResponse getForecast(Long userId, Integer months) {
+        int horizon = months == null ? 3 : Math.max(0, Math.min(months, MAX_MONTHS));
+        LocalDate today = LocalDate.now();
+        YearMonth current = YearMonth.from(today);
+        List<RecurringExpense> series = recurringExpenseRepository.findByUserIdAndActiveTrue(userId);
+
+        // Every limit of the horizon in one range query; only the current month has anything spent
+        YearMonth last = current.plusMonths(horizon);
+        Map<YearMonth, Double> limits = new HashMap<>();
+        for (Budget budget : budgetRepository.findBetweenMonths(userId,
+                current.getYear() * 12 + current.getMonthValue(), last.getYear() * 12 + last.getMonthValue())) {
+            limits.put(YearMonth.of(budget.getYear(), budget.getMonth()), budget.getMonthlyLimit());
+        }
+
+        List<MonthForecast> forecasts = new ArrayList<>();
+        LocalDate firstOverrun = null;
+        for (int i = 0; i <= horizon; i++) {
+            YearMonth month = current.plusMonths(i);
+            MonthForecast forecast = forecastMonth(userId, month, today, limits.get(month), series);
+            forecasts.add(forecast);
+            if (firstOverrun == null && forecast.getOverrunDate() != null) {
+                firstOverrun = forecast.getOverrunDate();
+            }
+        }
+
+        return new ForecastResponse(today, firstOverrun, forecasts);
+    }
+
+    private MonthForecast forecastMonth(Long userId, YearMonth month, LocalDate today, Double limit,
+                                        List<RecurringExpense> series) {
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+        boolean isCurrent = month.equals(YearMonth.from(today));
+
+        Map<String, Double> byCategory = new TreeMap<>();
+        double spentToDate = 0;
+        if (isCurrent) {
+            for (Object[] row : monthlyRollupRepository.getLabelTotalsByMonth(
+                    userId, RollupKind.EXPENSE, month.getMonthValue(), month.getYear())) {
+                byCategory.merge((String) row[0], (Double) row[1], Double::sum);
+                spentToDate += (Double) row[1];
+            }
+        }
+
+        double projectedRecurring = 0;
+        for (RecurringExpense recurring : series) {
+            double amount = recurring.getAmount() * occurrences(recurring, monthStart, monthEnd);
+            if (amount > 0) {
+                byCategory.merge(recurring.getCategory(), amount, Double::sum);
+                projectedRecurring += amount;
+            }
+        }
+
+        LocalDate overrunDate = null;
+        if (limit != null && spentToDate + projectedRecurring > limit) {
+            overrunDate = isCurrent && spentToDate > limit
+                    ? today // already over
+                    : findOverrunDate(series, monthStart, monthEnd, spentToDate, limit);
+        }
+
+        List<CategorySummary> categories = new ArrayList<>();
+        byCategory.forEach((category, total) -> categories.add(new CategorySummary(category, total)));
+
+        return new MonthForecast(
+                month.getMonthValue(),
+                month.getYear(),
+                spentToDate,
+                projectedRecurring,
+                spentToDate + projectedRecurring,
+                limit,
+                overrunDate,
+                categories
+        );
+    }
+
+    // First day whose cumulative projection exceeds the limit; the projection only grows
+    // with the day, so a binary search needs log2(31) evaluations
+    private LocalDate findOverrunDate(List<RecurringExpense> series, LocalDate monthStart, LocalDate monthEnd,
+                                      double base, double limit) {
+        int lo = 0;
+        int hi = monthEnd.getDayOfMonth() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (projectedThrough(series, monthStart, monthStart.plusDays(mid), base) > limit) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return monthStart.plusDays(lo);
+    }
+
+    private double projectedThrough(List<RecurringExpense> series, LocalDate monthStart, LocalDate day, double base) {
+        double total = base;
+        for (RecurringExpense recurring : series) {
+            total += recurring.getAmount() * occurrences(recurring, monthStart, day);
+        }
+        return total;
+    }
+
+    // Occurrences not generated yet (on or after nextDueDate) within [from, to]
+    private static long occurrences(RecurringExpense recurring, LocalDate from, LocalDate to) {
+        LocalDate start = recurring.getNextDueDate().isAfter(from) ? recurring.getNextDueDate() : from;
+        LocalDate anchor = recurring.getAnchorDate() != null ? recurring.getAnchorDate() : recurring.getNextDueDate();
+        return RecurrenceRule.of(recurring.getFrequency()).countBetween(anchor, start, to);
+    }
+}
@@ -0,0 +1,289 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.*;
+import com.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Streams a CSV statement into expenses/incomes.
+// Rows are parsed as they arrive and written in bounded chunks on the request thread, so the
+// upload is only read as fast as the database accepts rows and memory stays at one chunk.
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final Duration KEEP_FINISHED_JOBS = Duration.ofHours(1);
+
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+    private final UserRepository userRepository;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportService(ExpenseService expenseService, IncomeService incomeService, UserRepository userRepository) {
+        this.expenseService = expenseService;
+        this.incomeService = incomeService;
+        this.userRepository = userRepository;
+    }
+
+    public ImportJobResponse importCsv(Long userId, CsvImportOptions options, InputStream body) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        String type = options.getType() == null ? "EXPENSE" : options.getType().toUpperCase();
+        if (!type.equals("EXPENSE") && !type.equals("INCOME") && !type.equals("SIGNED")) {
+            throw new RuntimeException("Invalid import type: " + options.getType());
+        }
+
+        DateTimeFormatter dateFormat;
+        try {
+            dateFormat = DateTimeFormatter.ofPattern(options.getDateFormat());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid date format: " + options.getDateFormat());
+        }
+
+        pruneFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, type);
+        jobs.put(job.id, job);
+
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        CsvRecordReader csv = new CsvRecordReader(reader, options.getDelimiter() == null ? ',' : options.getDelimiter());
+        try {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new RuntimeException("CSV is empty");
+            }
+            Columns columns = new Columns(header, options, type);
+            Chunk chunk = new Chunk();
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                long line = csv.getRecordLine();
+                job.rowsRead++;
+                try {
+                    chunk.add(line, columns, record, dateFormat, options.getDefaultLabel(), type);
+                } catch (RuntimeException e) {
+                    job.failed(line, e.getMessage());
+                }
+                if (chunk.size() >= CHUNK_SIZE) {
+                    flush(job, chunk);
+                    chunk = new Chunk();
+                }
+            }
+            flush(job, chunk);
+            job.finish("COMPLETED", null);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("CSV import {} for user {} stopped after {} row(s): {}", job.id, userId, job.rowsRead, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw (RuntimeException) e;
+        }
+
+        logger.info("CSV import {} for user {}: {} imported, {} failed, {} rows/s",
+                job.id, userId, job.rowsImported, job.rowsFailed, String.format("%.0f", job.rowsPerSecond()));
+        return toResponse(job);
+    }
+
+    // Running and recently finished imports for a user, newest first
+    public List<ImportJobResponse> getJobs(Long userId) {
+        return jobs.values().stream()
+                .filter(job -> job.userId.equals(userId))
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void flush(ImportJob job, Chunk chunk) {
+        if (!chunk.expenses.isEmpty()) {
+            BatchResult result = expenseService.addExpenses(job.userId, chunk.expenses);
+            job.record(result, chunk.expenseLines);
+        }
+        if (!chunk.incomes.isEmpty()) {
+            BatchResult result = incomeService.addIncomes(job.userId, chunk.incomes);
+            job.record(result, chunk.incomeLines);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(KEEP_FINISHED_JOBS);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        List<ImportRowError> errors;
+        synchronized (job.errors) {
+            errors = new ArrayList<>(job.errors);
+        }
+        return new ImportJobResponse(
+                job.id,
+                job.type,
+                job.status,
+                job.rowsRead,
+                job.rowsImported,
+                job.rowsFailed,
+                Math.round(job.rowsPerSecond() * 10) / 10.0,
+                job.startedAt,
+                job.finishedAt,
+                job.message,
+                errors
+        );
+    }
+
+    // Progress of one import; written by the importing thread only, read by status requests
+    private static final class ImportJob {
+        private final String id;
+        private final Long userId;
+        private final String type;
+        private final Instant startedAt = Instant.now();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private volatile String status = "RUNNING";
+        private volatile String message;
+        private volatile Instant finishedAt;
+        private volatile long rowsRead;
+        private volatile long rowsImported;
+        private volatile long rowsFailed;
+
+        private ImportJob(String id, Long userId, String type) {
+            this.id = id;
+            this.userId = userId;
+            this.type = type;
+        }
+
+        private void record(BatchResult result, List<Long> lines) {
+            rowsImported += result.getCreated();
+            for (BatchRowError error : result.getErrors()) {
+                failed(lines.get(error.getIndex()), error.getMessage());
+            }
+        }
+
+        private void failed(long line, String message) {
+            rowsFailed++;
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportRowError(line, message));
+                }
+            }
+        }
+
+        private void finish(String status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        private double rowsPerSecond() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return rowsRead * 1000.0 / millis;
+        }
+    }
+
+    // Header positions of the mapped columns
+    private static final class Columns {
+        private final int title;
+        private final int amount;
+        private final int date;
+        private final int label;
+
+        private Columns(List<String> header, CsvImportOptions options, String type) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                // Strip a UTF-8 byte order mark from the first header cell
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase();
+                positions.putIfAbsent(name, i);
+            }
+
+            this.title = require(positions, options.getTitleColumn());
+            this.amount = require(positions, options.getAmountColumn());
+            this.date = require(positions, options.getDateColumn());
+
+            String labelColumn = options.getLabelColumn() != null ? options.getLabelColumn()
+                    : type.equals("INCOME") ? "source" : "category";
+            this.label = positions.getOrDefault(labelColumn.trim().toLowerCase(), -1);
+        }
+
+        private static int require(Map<String, Integer> positions, String column) {
+            Integer position = column == null ? null : positions.get(column.trim().toLowerCase());
+            if (position == null) {
+                throw new RuntimeException("CSV is missing column: " + column);
+            }
+            return position;
+        }
+    }
+
+    // Parsed rows waiting to be written, with the CSV line of each one
+    private static final class Chunk {
+        private final List<ExpenseRequest> expenses = new ArrayList<>();
+        private final List<Long> expenseLines = new ArrayList<>();
+        private final List<IncomeRequest> incomes = new ArrayList<>();
+        private final List<Long> incomeLines = new ArrayList<>();
+
+        private int size() {
+            return expenses.size() + incomes.size();
+        }
+
+        private void add(long line, Columns columns, List<String> record, DateTimeFormatter dateFormat,
+                         String defaultLabel, String type) {
+            String title = field(record, columns.title);
+            String label = columns.label >= 0 ? field(record, columns.label) : "";
+            if (label.isEmpty()) {
+                label = defaultLabel;
+            }
+
+            LocalDate date;
+            try {
+                date = LocalDate.parse(field(record, columns.date), dateFormat);
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Invalid date: " + field(record, columns.date));
+            }
+
+            double amount = parseAmount(field(record, columns.amount));
+            boolean income = type.equals("INCOME") || (type.equals("SIGNED") && amount > 0);
+            if (type.equals("SIGNED")) {
+                amount = Math.abs(amount);
+            }
+
+            if (income) {
+                incomes.add(new IncomeRequest(title, amount, label, date));
+                incomeLines.add(line);
+            } else {
+                expenses.add(new ExpenseRequest(title, amount, label, date));
+                expenseLines.add(line);
+            }
+        }
+
+        private static String field(List<String> record, int position) {
+            return position < record.size() ? record.get(position).trim() : "";
+        }
+
+        // Accepts "1,234.50", "-75.00" and amounts with a currency symbol (rupee, dollar, euro, pound)
+        private static double parseAmount(String value) {
+            String cleaned = value.replaceAll("[,\\s\u20B9$\u20AC\u00A3]", "");
+            try {
+                return Double.parseDouble(cleaned);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid amount: " + value);
+            }
+        }
+    }
+}
@@ -1,30 +1,52 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.BatchResult;
+import com.expensetracker.dto.CursorPage;
 import com.expensetracker.dto.IncomeRequest;
 import com.expensetracker.dto.IncomeResponse;
 import com.expensetracker.dto.MonthlySummary;
 import com.expensetracker.dto.SourceSummary;
 import com.expensetracker.entity.Income;
+import com.expensetracker.entity.RollupKind;
 import com.expensetracker.entity.User;
 import com.expensetracker.repository.IncomeRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
 import com.expensetracker.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class IncomeService {
 
     private final IncomeRepository incomeRepository;
     private final UserRepository userRepository;
-
-    public IncomeService(IncomeRepository incomeRepository, UserRepository userRepository) {
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final SummaryCache summaryCache;
+    private final DataVersions dataVersions;
+    private final BatchWriter batchWriter;
+
+    public IncomeService(
+            IncomeRepository incomeRepository,
+            UserRepository userRepository,
+            MonthlyRollupRepository monthlyRollupRepository,
+            MonthlyRollupService monthlyRollupService,
+            SummaryCache summaryCache,
+            DataVersions dataVersions,
+            BatchWriter batchWriter) {
         this.incomeRepository = incomeRepository;
         this.userRepository = userRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.summaryCache = summaryCache;
+        this.dataVersions = dataVersions;
+        this.batchWriter = batchWriter;
     }
 
     private IncomeResponse toResponse(Income income) {
@@ -37,20 +59,42 @@ public class IncomeService {
         );
     }
 
+    @Transactional(readOnly = true)
     public List<IncomeResponse> getIncomes(Long userId, String source, LocalDate startDate, LocalDate endDate) {
-        List<Income> incomes;
-
         if (source != null && !source.isEmpty()) {
-            incomes = incomeRepository.findByUserIdAndSourceOrderByDateDesc(userId, source);
+            return incomeRepository.findByUserIdAndSourceOrderByDateDesc(userId, source);
         } else if (startDate != null && endDate != null) {
-            incomes = incomeRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
+            return incomeRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
+        }
+        return incomeRepository.findByUserIdOrderByDateDesc(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<IncomeResponse> getIncomePage(Long userId, String source, LocalDate startDate,
+                                                    LocalDate endDate, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        KeysetCursor after = cursor != null && !cursor.isEmpty() ? KeysetCursor.decode(cursor) : KeysetCursor.start(endDate);
+        LocalDate from = startDate != null ? startDate : KeysetCursor.MIN_DATE;
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<IncomeResponse> incomes;
+        if (source != null && !source.isEmpty()) {
+            incomes = incomeRepository.findPageBySource(userId, source, from, after.getDate(), after.getId(), page);
         } else {
-            incomes = incomeRepository.findByUserIdOrderByDateDesc(userId);
+            incomes = incomeRepository.findPage(userId, from, after.getDate(), after.getId(), page);
         }
 
-        return incomes.stream().map(this::toResponse).collect(Collectors.toList());
+        String nextCursor = null;
+        if (incomes.size() > pageSize) {
+            incomes = incomes.subList(0, pageSize);
+            IncomeResponse last = incomes.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(incomes, nextCursor);
     }
 
+    @Transactional
     public IncomeResponse addIncome(Long userId, IncomeRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -63,40 +107,95 @@ public class IncomeService {
         income.setUser(user);
 
         Income saved = incomeRepository.save(income);
+        monthlyRollupService.recordAdded(RollupKind.INCOME, userId, saved.getDate(), saved.getSource(), saved.getAmount());
+        summaryCache.invalidate(userId, SummaryCache.Region.INCOME_SUMMARY);
+        dataVersions.bump(userId);
         return toResponse(saved);
     }
 
-    public IncomeResponse updateIncome(Long userId, Long incomeId, IncomeRequest request) {
-        Income income = incomeRepository.findById(incomeId)
-                .orElseThrow(() -> new RuntimeException("Income not found"));
-
-        if (!income.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+    // Add many incomes at once; invalid rows are reported back instead of failing the whole batch
+    public BatchResult addIncomes(Long userId, List<IncomeRequest> requests) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
         }
+        User user = userRepository.getReferenceById(userId);
+
+        BatchResult result = batchWriter.write(requests, IncomeService::validate, chunk -> {
+            MonthlyRollupService.Batch rollups = monthlyRollupService.newBatch(RollupKind.INCOME);
+            List<Income> incomes = new ArrayList<>(chunk.size());
+            for (IncomeRequest request : chunk) {
+                Income income = new Income();
+                income.setTitle(request.getTitle());
+                income.setAmount(request.getAmount());
+                income.setSource(request.getSource());
+                income.setDate(request.getDate());
+                income.setUser(user);
+                incomes.add(income);
+                rollups.add(userId, request.getDate(), request.getSource(), request.getAmount());
+            }
+            incomeRepository.saveAll(incomes);
+            rollups.apply();
+        });
+
+        if (result.getCreated() > 0) {
+            summaryCache.invalidate(userId, SummaryCache.Region.INCOME_SUMMARY);
+            dataVersions.bump(userId);
+        }
+        return result;
+    }
 
-        income.setTitle(request.getTitle());
-        income.setAmount(request.getAmount());
-        income.setSource(request.getSource());
-        income.setDate(request.getDate());
+    private static String validate(IncomeRequest request) {
+        if (request.getTitle() == null || request.getTitle().isBlank()) return "Title is required";
+        if (request.getAmount() == null || request.getAmount() <= 0) return "Amount must be greater than zero";
+        if (request.getSource() == null || request.getSource().isBlank()) return "Source is required";
+        if (request.getDate() == null) return "Date is required";
+        return null;
+    }
+
+    // One UPDATE ... WHERE id AND user_id that returns the old values for the rollup delta
+    @Transactional
+    public IncomeResponse updateIncome(Long userId, Long incomeId, IncomeRequest request) {
+        List<Object[]> old = incomeRepository.updateOwned(incomeId, userId,
+                request.getTitle(), request.getAmount(), request.getSource(), request.getDate());
+        if (old.isEmpty()) {
+            throw notOwned(incomeId);
+        }
 
-        Income updated = incomeRepository.save(income);
-        return toResponse(updated);
+        Object[] previous = old.get(0);
+        monthlyRollupService.recordChanged(RollupKind.INCOME, userId,
+                NativeColumns.dateOf(previous[2]), (String) previous[1], ((Number) previous[0]).doubleValue(),
+                request.getDate(), request.getSource(), request.getAmount());
+        summaryCache.invalidate(userId, SummaryCache.Region.INCOME_SUMMARY);
+        dataVersions.bump(userId);
+        return new IncomeResponse(incomeId, request.getTitle(), request.getAmount(), request.getSource(), request.getDate());
     }
 
+    @Transactional
     public void deleteIncome(Long userId, Long incomeId) {
-        Income income = incomeRepository.findById(incomeId)
-                .orElseThrow(() -> new RuntimeException("Income not found"));
-
-        if (!income.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+        List<Object[]> deleted = incomeRepository.deleteOwned(incomeId, userId);
+        if (deleted.isEmpty()) {
+            throw notOwned(incomeId);
         }
 
-        incomeRepository.delete(income);
+        Object[] row = deleted.get(0);
+        monthlyRollupService.recordRemoved(RollupKind.INCOME, userId,
+                NativeColumns.dateOf(row[2]), (String) row[1], ((Number) row[0]).doubleValue());
+        summaryCache.invalidate(userId, SummaryCache.Region.INCOME_SUMMARY);
+        dataVersions.bump(userId);
+    }
+
+    private RuntimeException notOwned(Long incomeId) {
+        return new RuntimeException(incomeRepository.existsById(incomeId) ? "Unauthorized" : "Income not found");
     }
 
     public List<MonthlySummary> getMonthlySummary(Long userId) {
         int currentYear = Year.now().getValue();
-        List<Object[]> results = incomeRepository.getMonthlySummary(userId, currentYear);
+        return summaryCache.get(userId, SummaryCache.Region.INCOME_SUMMARY, "monthly:" + currentYear,
+                () -> loadMonthlySummary(userId, currentYear));
+    }
+
+    private List<MonthlySummary> loadMonthlySummary(Long userId, int currentYear) {
+        List<Object[]> results = monthlyRollupRepository.getMonthlySummary(userId, RollupKind.INCOME, currentYear);
 
         List<MonthlySummary> summaries = new ArrayList<>();
         for (Object[] row : results) {
@@ -108,7 +207,12 @@ public class IncomeService {
     }
 
     public List<SourceSummary> getSourceSummary(Long userId) {
-        List<Object[]> results = incomeRepository.getSourceSummary(userId);
+        return summaryCache.get(userId, SummaryCache.Region.INCOME_SUMMARY, "source",
+                () -> loadSourceSummary(userId));
+    }
+
+    private List<SourceSummary> loadSourceSummary(Long userId) {
+        List<Object[]> results = monthlyRollupRepository.getLabelSummary(userId, RollupKind.INCOME);
 
         List<SourceSummary> summaries = new ArrayList<>();
         for (Object[] row : results) {
@@ -0,0 +1,60 @@
+package com.expensetracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+// Position of the last row returned by a (date DESC, id DESC) keyset query.
+// Clients only ever see the encoded form, so the format can change freely.
+final class KeysetCursor {
+
+    // Bounds used when the caller gives no date range (fit in a PostgreSQL date column)
+    static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private final LocalDate date;
+    private final Long id;
+
+    KeysetCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    // First page: everything on or before the end date
+    static KeysetCursor start(LocalDate endDate) {
+        return new KeysetCursor(endDate != null ? endDate : MAX_DATE, Long.MAX_VALUE);
+    }
+
+    LocalDate getDate() {
+        return date;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,54 @@
+package com.expensetracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+// Position of the last entry of a ledger page in its (date DESC, rank DESC, id DESC) order, plus
+// the running balance the next entry starts from. Clients only ever see the encoded form, so the
+// format can change freely.
+final class LedgerCursor {
+
+    private final LocalDate date;
+    private final int rank;
+    private final Long id;
+    private final double balance;
+
+    LedgerCursor(LocalDate date, int rank, Long id, double balance) {
+        this.date = date;
+        this.rank = rank;
+        this.id = id;
+        this.balance = balance;
+    }
+
+    LocalDate getDate() {
+        return date;
+    }
+
+    int getRank() {
+        return rank;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    double getBalance() {
+        return balance;
+    }
+
+    String encode() {
+        String raw = date + ":" + rank + ":" + id + ":" + balance;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LedgerCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new LedgerCursor(LocalDate.parse(parts[0]), Integer.parseInt(parts[1]),
+                    Long.parseLong(parts[2]), Double.parseDouble(parts[3]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
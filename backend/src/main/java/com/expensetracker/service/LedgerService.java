@@ -0,0 +1,160 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CursorPage;
+import com.expensetracker.dto.LedgerEntry;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.IncomeRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Incomes and expenses as one newest-first ledger with a running balance. Each kind is read as
+// its own (date DESC, id DESC) keyset stream in batches of limit + 1 and the streams are merged
+// through a priority queue, so a page never reads more than limit + 1 rows of either table.
+// Within a day expenses sort above incomes: read oldest-first, the day's incomes land first.
+@Service
+public class LedgerService {
+
+    private static final int INCOME_RANK = 0;
+    private static final int EXPENSE_RANK = 1;
+
+    // Heads of the streams, newest first
+    private static final Comparator<Source> NEWEST_FIRST = Comparator
+            .comparing((Source s) -> s.peek().getDate())
+            .thenComparingInt(s -> s.rank)
+            .thenComparing(s -> s.peek().getId())
+            .reversed();
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+
+    public LedgerService(ExpenseRepository expenseRepository,
+                         IncomeRepository incomeRepository,
+                         MonthlyRollupRepository monthlyRollupRepository) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LedgerEntry> getLedgerPage(Long userId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        LedgerCursor after = cursor != null && !cursor.isEmpty() ? LedgerCursor.decode(cursor) : null;
+        // The newest entry's balance is the all-time balance; later pages carry it in the cursor
+        double balance = after != null ? after.getBalance() : round(monthlyRollupRepository.getBalance(userId));
+        // One extra row per stream tells whether another page exists without a second query
+        int batchSize = pageSize + 1;
+
+        Source expenses = new Source(EXPENSE_RANK, after, batchSize, (date, id, size) ->
+                expenseRepository.findPage(userId, KeysetCursor.MIN_DATE, date, id, PageRequest.of(0, size)).stream()
+                        .map(e -> new LedgerEntry("Expense", e.getId(), e.getTitle(), e.getAmount(), e.getCategory(), e.getDate(), null))
+                        .toList());
+        Source incomes = new Source(INCOME_RANK, after, batchSize, (date, id, size) ->
+                incomeRepository.findPage(userId, KeysetCursor.MIN_DATE, date, id, PageRequest.of(0, size)).stream()
+                        .map(i -> new LedgerEntry("Income", i.getId(), i.getTitle(), i.getAmount(), i.getSource(), i.getDate(), null))
+                        .toList());
+
+        PriorityQueue<Source> heads = new PriorityQueue<>(NEWEST_FIRST);
+        for (Source source : List.of(expenses, incomes)) {
+            if (source.peek() != null) {
+                heads.add(source);
+            }
+        }
+
+        List<LedgerEntry> entries = new ArrayList<>(pageSize);
+        int lastRank = 0;
+        while (entries.size() < pageSize && !heads.isEmpty()) {
+            Source source = heads.poll();
+            LedgerEntry entry = source.next();
+            entry.setBalance(balance);
+            // Step back over the entry: undo an income, add back an expense
+            balance = round(source.rank == EXPENSE_RANK ? balance + entry.getAmount() : balance - entry.getAmount());
+            entries.add(entry);
+            lastRank = source.rank;
+            if (source.peek() != null) {
+                heads.add(source);
+            }
+        }
+
+        String nextCursor = null;
+        if (!heads.isEmpty()) {
+            LedgerEntry last = entries.get(entries.size() - 1);
+            nextCursor = new LedgerCursor(last.getDate(), lastRank, last.getId(), balance).encode();
+        }
+        return new CursorPage<>(entries, nextCursor);
+    }
+
+    // Keep the running balance in cents so repeated subtraction does not drift
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @FunctionalInterface
+    private interface KeysetFetch {
+        // Up to size rows strictly after (date, id) in (date DESC, id DESC) order
+        List<LedgerEntry> fetch(LocalDate date, Long id, int size);
+    }
+
+    // One kind's rows, read lazily one keyset batch at a time
+    private static final class Source {
+
+        private final int rank;
+        private final int batchSize;
+        private final KeysetFetch fetch;
+        private final Deque<LedgerEntry> buffer = new ArrayDeque<>();
+        private LocalDate afterDate;
+        private Long afterId;
+        private boolean exhausted;
+
+        Source(int rank, LedgerCursor cursor, int batchSize, KeysetFetch fetch) {
+            this.rank = rank;
+            this.batchSize = batchSize;
+            this.fetch = fetch;
+            if (cursor == null) {
+                afterDate = KeysetCursor.MAX_DATE;
+                afterId = Long.MAX_VALUE;
+            } else {
+                // On the cursor's day a lower-ranked kind comes after every row of the cursor's
+                // kind, so it restarts at the top of that day; a higher-ranked kind is already done
+                afterDate = cursor.getDate();
+                if (rank < cursor.getRank()) {
+                    afterId = Long.MAX_VALUE;
+                } else if (rank == cursor.getRank()) {
+                    afterId = cursor.getId();
+                } else {
+                    afterId = Long.MIN_VALUE;
+                }
+            }
+        }
+
+        LedgerEntry peek() {
+            if (buffer.isEmpty() && !exhausted) {
+                List<LedgerEntry> rows = fetch.fetch(afterDate, afterId, batchSize);
+                buffer.addAll(rows);
+                exhausted = rows.size() < batchSize;
+                if (!rows.isEmpty()) {
+                    LedgerEntry last = rows.get(rows.size() - 1);
+                    afterDate = last.getDate();
+                    afterId = last.getId();
+                }
+            }
+            return buffer.peekFirst();
+        }
+
+        LedgerEntry next() {
+            LedgerEntry head = peek();
+            buffer.pollFirst();
+            return head;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.RollupKind;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Keeps monthly_rollups in step with expenses and incomes.
+// Callers run these inside the transaction that writes the underlying row.
+@Service
+public class MonthlyRollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+    }
+
+    public void recordAdded(RollupKind kind, Long userId, LocalDate date, String label, double amount) {
+        apply(kind, userId, date, label, amount, 1);
+    }
+
+    public void recordRemoved(RollupKind kind, Long userId, LocalDate date, String label, double amount) {
+        apply(kind, userId, date, label, -amount, -1);
+    }
+
+    public void recordChanged(RollupKind kind, Long userId,
+                              LocalDate oldDate, String oldLabel, double oldAmount,
+                              LocalDate newDate, String newLabel, double newAmount) {
+        boolean sameRow = oldDate.getYear() == newDate.getYear()
+                && oldDate.getMonthValue() == newDate.getMonthValue()
+                && oldLabel.equals(newLabel);
+
+        if (sameRow) {
+            if (oldAmount != newAmount) {
+                apply(kind, userId, newDate, newLabel, newAmount - oldAmount, 0);
+            }
+            return;
+        }
+
+        recordRemoved(kind, userId, oldDate, oldLabel, oldAmount);
+        recordAdded(kind, userId, newDate, newLabel, newAmount);
+    }
+
+    // Collects additions in memory and applies them with one upsert per rollup row
+    public Batch newBatch(RollupKind kind) {
+        return new Batch(kind);
+    }
+
+    public Double getTotalByMonth(RollupKind kind, Long userId, int month, int year) {
+        return monthlyRollupRepository.getTotalByMonth(userId, kind, month, year);
+    }
+
+    private void apply(RollupKind kind, Long userId, LocalDate date, String label, double amount, long count) {
+        monthlyRollupRepository.applyDelta(
+                userId, kind.name(), date.getYear(), date.getMonthValue(), label, amount, count);
+    }
+
+    public class Batch {
+
+        private final RollupKind kind;
+        private final Map<RowKey, double[]> deltas = new HashMap<>(); // {amount, count}
+
+        private Batch(RollupKind kind) {
+            this.kind = kind;
+        }
+
+        public void add(Long userId, LocalDate date, String label, double amount) {
+            double[] delta = deltas.computeIfAbsent(
+                    new RowKey(userId, date.getYear(), date.getMonthValue(), label), key -> new double[2]);
+            delta[0] += amount;
+            delta[1] += 1;
+        }
+
+        public void apply() {
+            deltas.forEach((key, delta) -> monthlyRollupRepository.applyDelta(
+                    key.userId, kind.name(), key.year, key.month, key.label, delta[0], (long) delta[1]));
+            deltas.clear();
+        }
+    }
+
+    private static final class RowKey {
+        private final Long userId;
+        private final int year;
+        private final int month;
+        private final String label;
+
+        private RowKey(Long userId, int year, int month, String label) {
+            this.userId = userId;
+            this.year = year;
+            this.month = month;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RowKey)) return false;
+            RowKey other = (RowKey) o;
+            return year == other.year && month == other.month
+                    && userId.equals(other.userId) && label.equals(other.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, year, month, label);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.expensetracker.service;
+
+import java.time.LocalDate;
+
+// Conversions for columns of native queries (RETURNING rows), which come back as JDBC types
+final class NativeColumns {
+
+    private NativeColumns() {
+    }
+
+    static LocalDate dateOf(Object value) {
+        return value instanceof java.sql.Date ? ((java.sql.Date) value).toLocalDate() : (LocalDate) value;
+    }
+}
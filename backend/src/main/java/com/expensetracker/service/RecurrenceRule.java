@@ -0,0 +1,105 @@
+package com.expensetracker.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+// Supported RecurringExpense.frequency values.
+// Occurrence n of a series is computed directly from its anchor date (the first due date), so
+// finding the next due date is O(1) and month-based rules never drift (Jan 31 -> Feb 28 -> Mar 31).
+public enum RecurrenceRule {
+    DAILY(1, 0),
+    WEEKLY(7, 0),
+    BIWEEKLY(14, 0),
+    MONTHLY(0, 1),
+    QUARTERLY(0, 3),
+    YEARLY(0, 12),
+    // Same weekday and week of the month as the anchor, e.g. "2nd Tuesday";
+    // an anchor in the 5th week means the last such weekday of the month
+    MONTHLY_NTH_WEEKDAY(0, 1);
+
+    private final int stepDays;
+    private final int stepMonths;
+
+    RecurrenceRule(int stepDays, int stepMonths) {
+        this.stepDays = stepDays;
+        this.stepMonths = stepMonths;
+    }
+
+    public static boolean isSupported(String frequency) {
+        if (frequency == null) return false;
+        for (RecurrenceRule rule : values()) {
+            if (rule.name().equalsIgnoreCase(frequency)) return true;
+        }
+        return false;
+    }
+
+    // Unknown values fall back to MONTHLY, as the original WEEKLY/MONTHLY handling did
+    public static RecurrenceRule of(String frequency) {
+        if (frequency != null) {
+            for (RecurrenceRule rule : values()) {
+                if (rule.name().equalsIgnoreCase(frequency)) return rule;
+            }
+        }
+        return MONTHLY;
+    }
+
+    // The n-th occurrence (0 = the anchor itself)
+    public LocalDate occurrence(LocalDate anchor, long n) {
+        if (stepDays > 0) {
+            return anchor.plusDays(n * stepDays);
+        }
+        if (this == MONTHLY_NTH_WEEKDAY) {
+            int week = (anchor.getDayOfMonth() - 1) / 7 + 1;
+            DayOfWeek weekday = anchor.getDayOfWeek();
+            YearMonth month = YearMonth.from(anchor).plusMonths(n);
+            return month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(week == 5 ? -1 : week, weekday));
+        }
+        return anchor.plusMonths(n * stepMonths);
+    }
+
+    // First occurrence strictly after the given date
+    public LocalDate nextAfter(LocalDate anchor, LocalDate date) {
+        if (date.isBefore(anchor)) {
+            return anchor;
+        }
+        if (stepDays > 0) {
+            long n = ChronoUnit.DAYS.between(anchor, date) / stepDays + 1;
+            return occurrence(anchor, n);
+        }
+
+        // Occurrence k falls in the same step of months as the date; it is either on/before the
+        // date (then k + 1 is the answer) or already after it
+        long k = ChronoUnit.MONTHS.between(YearMonth.from(anchor), YearMonth.from(date)) / stepMonths;
+        LocalDate candidate = occurrence(anchor, k);
+        return candidate.isAfter(date) ? candidate : occurrence(anchor, k + 1);
+    }
+
+    // Number of occurrences in [from, to], without walking them
+    public long countBetween(LocalDate anchor, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || to.isBefore(anchor)) {
+            return 0;
+        }
+        long first = from.isAfter(anchor) ? firstIndexOnOrAfter(anchor, from) : 0;
+        long last = lastIndexOnOrBefore(anchor, to);
+        return Math.max(0, last - first + 1);
+    }
+
+    private long firstIndexOnOrAfter(LocalDate anchor, LocalDate date) {
+        if (stepDays > 0) {
+            return Math.floorDiv(ChronoUnit.DAYS.between(anchor, date) + stepDays - 1, stepDays);
+        }
+        long k = ChronoUnit.MONTHS.between(YearMonth.from(anchor), YearMonth.from(date)) / stepMonths;
+        return occurrence(anchor, k).isBefore(date) ? k + 1 : k;
+    }
+
+    private long lastIndexOnOrBefore(LocalDate anchor, LocalDate date) {
+        if (stepDays > 0) {
+            return ChronoUnit.DAYS.between(anchor, date) / stepDays;
+        }
+        long k = ChronoUnit.MONTHS.between(YearMonth.from(anchor), YearMonth.from(date)) / stepMonths;
+        return occurrence(anchor, k).isAfter(date) ? k - 1 : k;
+    }
+}
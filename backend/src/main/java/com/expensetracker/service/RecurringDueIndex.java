@@ -0,0 +1,82 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.RecurringExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory index of active recurring series by next due date.
+// Lets the scheduler find what became due with a range lookup instead of scanning
+// recurring_expenses. Writes on other instances are only picked up by reload(), which the
+// nightly reconcile run calls; the database stays the source of truth.
+@Component
+public class RecurringDueIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringDueIndex.class);
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final ConcurrentSkipListMap<LocalDate, Set<Long>> byDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, LocalDate> byId = new ConcurrentHashMap<>();
+
+    public RecurringDueIndex(RecurringExpenseRepository recurringExpenseRepository) {
+        this.recurringExpenseRepository = recurringExpenseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        byDate.clear();
+        byId.clear();
+        for (Object[] row : recurringExpenseRepository.findActiveDueDates()) {
+            put((Long) row[0], (LocalDate) row[1]);
+        }
+        logger.info("Recurring due index loaded with {} active series", byId.size());
+    }
+
+    // Index a series at its due date, or drop it when inactive (dueDate == null)
+    public synchronized void put(Long seriesId, LocalDate dueDate) {
+        remove(seriesId);
+        if (dueDate == null) {
+            return;
+        }
+        byId.put(seriesId, dueDate);
+        byDate.computeIfAbsent(dueDate, date -> ConcurrentHashMap.newKeySet()).add(seriesId);
+    }
+
+    public synchronized void remove(Long seriesId) {
+        LocalDate previous = byId.remove(seriesId);
+        if (previous != null) {
+            Set<Long> ids = byDate.get(previous);
+            if (ids != null) {
+                ids.remove(seriesId);
+                if (ids.isEmpty()) {
+                    byDate.remove(previous);
+                }
+            }
+        }
+    }
+
+    // Up to limit series due on or before the date, earliest first
+    public List<Long> dueIds(LocalDate date, int limit) {
+        List<Long> due = new ArrayList<>();
+        for (Set<Long> ids : byDate.headMap(date, true).values()) {
+            for (Long id : ids) {
+                if (due.size() >= limit) {
+                    return due;
+                }
+                due.add(id);
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+}
@@ -2,18 +2,34 @@ package com.expensetracker.service;
 
 import com.expensetracker.dto.RecurringExpenseRequest;
 import com.expensetracker.dto.RecurringExpenseResponse;
+import com.expensetracker.dto.RecurringRunStats;
 import com.expensetracker.entity.Expense;
 import com.expensetracker.entity.RecurringExpense;
+import com.expensetracker.entity.RollupKind;
 import com.expensetracker.entity.User;
 import com.expensetracker.repository.ExpenseRepository;
 import com.expensetracker.repository.RecurringExpenseRepository;
 import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 @Service
 public class RecurringExpenseService {
@@ -21,14 +37,47 @@ public class RecurringExpenseService {
     private final RecurringExpenseRepository recurringExpenseRepository;
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final SummaryCache summaryCache;
+    private final DataVersions dataVersions;
+    private final RecurringDueIndex dueIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final TaskExecutor recurringExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int partitions;
+
+    // Most recent runs, newest first
+    private final Deque<RecurringRunStats> recentRuns = new ArrayDeque<>();
+
+    private static final int CHUNK_SIZE = 200;
+    private static final int KEEP_RUNS = 20;
 
     public RecurringExpenseService(
             RecurringExpenseRepository recurringExpenseRepository,
             ExpenseRepository expenseRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            MonthlyRollupService monthlyRollupService,
+            SummaryCache summaryCache,
+            DataVersions dataVersions,
+            RecurringDueIndex dueIndex,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            @Qualifier("recurringExecutor") TaskExecutor recurringExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.recurring.partitions:1}") int partitions) {
         this.recurringExpenseRepository = recurringExpenseRepository;
         this.expenseRepository = expenseRepository;
         this.userRepository = userRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.summaryCache = summaryCache;
+        this.dataVersions = dataVersions;
+        this.dueIndex = dueIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.recurringExecutor = recurringExecutor;
+        this.meterRegistry = meterRegistry;
+        this.partitions = Math.max(1, partitions);
     }
 
     private RecurringExpenseResponse toResponse(RecurringExpense expense) {
@@ -43,13 +92,12 @@ public class RecurringExpenseService {
         );
     }
 
+    @Transactional(readOnly = true)
     public List<RecurringExpenseResponse> getRecurringExpenses(Long userId) {
-        return recurringExpenseRepository.findByUserIdOrderByNextDueDateAsc(userId)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return recurringExpenseRepository.findByUserIdOrderByNextDueDateAsc(userId);
     }
 
+    @Transactional
     public RecurringExpenseResponse addRecurringExpense(Long userId, RecurringExpenseRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -58,92 +106,270 @@ public class RecurringExpenseService {
         expense.setTitle(request.getTitle());
         expense.setAmount(request.getAmount());
         expense.setCategory(request.getCategory());
-        expense.setFrequency(request.getFrequency());
+        expense.setFrequency(normalizeFrequency(request.getFrequency()));
         expense.setNextDueDate(request.getNextDueDate());
+        expense.setAnchorDate(request.getNextDueDate());
         expense.setActive(true);
         expense.setUser(user);
 
         RecurringExpense saved = recurringExpenseRepository.save(expense);
+        dueIndex.put(saved.getId(), saved.getNextDueDate());
+        dataVersions.bump(userId);
         return toResponse(saved);
     }
 
+    // One UPDATE ... WHERE id AND user_id; a new schedule re-anchors on the chosen due date (in SQL)
+    @Transactional
     public RecurringExpenseResponse updateRecurringExpense(Long userId, Long id, RecurringExpenseRequest request) {
-        RecurringExpense expense = recurringExpenseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Recurring Expense not found"));
-
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+        String frequency = normalizeFrequency(request.getFrequency());
+        List<Boolean> active = recurringExpenseRepository.updateOwned(id, userId, request.getTitle(),
+                request.getAmount(), request.getCategory(), frequency, request.getNextDueDate());
+        if (active.isEmpty()) {
+            throw notOwned(id);
         }
 
-        expense.setTitle(request.getTitle());
-        expense.setAmount(request.getAmount());
-        expense.setCategory(request.getCategory());
-        expense.setFrequency(request.getFrequency());
-        expense.setNextDueDate(request.getNextDueDate());
-
-        RecurringExpense updated = recurringExpenseRepository.save(expense);
-        return toResponse(updated);
+        dueIndex.put(id, active.get(0) ? request.getNextDueDate() : null);
+        dataVersions.bump(userId);
+        return new RecurringExpenseResponse(id, request.getTitle(), request.getAmount(), request.getCategory(),
+                frequency, request.getNextDueDate(), active.get(0));
     }
 
+    @Transactional
     public RecurringExpenseResponse toggleActiveStatus(Long userId, Long id, boolean active) {
-        RecurringExpense expense = recurringExpenseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Recurring Expense not found"));
-
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+        List<Object[]> updated = recurringExpenseRepository.setActiveOwned(id, userId, active);
+        if (updated.isEmpty()) {
+            throw notOwned(id);
         }
 
-        expense.setActive(active);
-        RecurringExpense updated = recurringExpenseRepository.save(expense);
-        return toResponse(updated);
+        Object[] row = updated.get(0);
+        LocalDate nextDueDate = NativeColumns.dateOf(row[5]);
+        dueIndex.put(id, active ? nextDueDate : null);
+        dataVersions.bump(userId);
+        return new RecurringExpenseResponse(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).doubleValue(),
+                (String) row[3], (String) row[4], nextDueDate, (Boolean) row[6]);
     }
 
+    @Transactional
     public void deleteRecurringExpense(Long userId, Long id) {
-        RecurringExpense expense = recurringExpenseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Recurring Expense not found"));
+        if (recurringExpenseRepository.deleteOwned(id, userId) == 0) {
+            throw notOwned(id);
+        }
+        dueIndex.remove(id);
+        dataVersions.bump(userId);
+    }
 
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+    // Nothing matched (id, user): only now look up which error it is
+    private RuntimeException notOwned(Long id) {
+        return new RuntimeException(recurringExpenseRepository.existsById(id) ? "Unauthorized" : "Recurring Expense not found");
+    }
+
+    private static String normalizeFrequency(String frequency) {
+        if (!RecurrenceRule.isSupported(frequency)) {
+            throw new RuntimeException("Invalid frequency: " + frequency);
+        }
+        return RecurrenceRule.of(frequency).name();
+    }
+
+    // Generates the expenses of every due series. Series are claimed CHUNK_SIZE at a time with
+    // FOR UPDATE SKIP LOCKED and each chunk commits on its own, so a long backlog never becomes one
+    // huge transaction and several instances (or an overlapping manual run) split the due series
+    // without overlap. With app.recurring.partitions > 1, users are also split by MOD(user_id, partitions)
+    // and the partitions run side by side.
+    public RecurringRunStats processDueRecurringExpenses() {
+        LocalDate today = LocalDate.now();
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        RunCounters counters = new RunCounters();
+
+        if (partitions == 1) {
+            processPartition(today, 0, counters);
+        } else {
+            CompletableFuture<?>[] runs = IntStream.range(0, partitions)
+                    .mapToObj(partition -> CompletableFuture.runAsync(
+                            () -> processPartition(today, partition, counters), recurringExecutor))
+                    .toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(runs).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
         }
 
-        recurringExpenseRepository.delete(expense);
+        // The full scan also picks up series written on other instances; resync the index with it
+        dueIndex.reload();
+        return recordRun("full-scan", startedAt, start, partitions, counters);
     }
 
-    @Transactional
-    public int processDueRecurringExpenses() {
+    // Processes the given series (as reported due by the in-memory index) in claimed chunks,
+    // then re-reads their due dates into the index; series advanced elsewhere simply drop out
+    public RecurringRunStats processDueSeries(List<Long> seriesIds) {
         LocalDate today = LocalDate.now();
-        List<RecurringExpense> dueRecurring = recurringExpenseRepository.findByActiveTrueAndNextDueDateLessThanEqual(today);
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        RunCounters counters = new RunCounters();
+
+        for (int from = 0; from < seriesIds.size(); from += CHUNK_SIZE) {
+            List<Long> ids = seriesIds.subList(from, Math.min(from + CHUNK_SIZE, seriesIds.size()));
+            transactionTemplate.execute(status ->
+                    processChunk(today, recurringExpenseRepository.claimDueByIds(ids, today), counters));
+
+            Map<Long, LocalDate> current = new HashMap<>();
+            for (Object[] row : recurringExpenseRepository.findActiveDueDates(ids)) {
+                current.put((Long) row[0], (LocalDate) row[1]);
+            }
+            for (Long id : ids) {
+                dueIndex.put(id, current.get(id));
+            }
+        }
+
+        return recordRun("due-index", startedAt, start, 1, counters);
+    }
 
-        int createdExpenses = 0;
+    // trigger: "full-scan" (nightly/manual run) or "due-index" (poll of the in-memory index)
+    private RecurringRunStats recordRun(String trigger, Instant startedAt, long start, int partitions, RunCounters counters) {
+        long elapsedNanos = System.nanoTime() - start;
+        Timer.builder("recurring.run")
+                .description("Recurring expense processing runs")
+                .tag("trigger", trigger)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("recurring.series.processed").tag("trigger", trigger).register(meterRegistry)
+                .increment(counters.series.get());
+        Counter.builder("recurring.expenses.created").tag("trigger", trigger).register(meterRegistry)
+                .increment(counters.expenses.get());
 
-        for (RecurringExpense recurring : dueRecurring) {
+        RecurringRunStats stats = new RecurringRunStats(
+                startedAt,
+                elapsedNanos / 1_000_000,
+                partitions,
+                counters.chunks.get(),
+                counters.series.get(),
+                counters.expenses.get()
+        );
+        synchronized (recentRuns) {
+            recentRuns.addFirst(stats);
+            if (recentRuns.size() > KEEP_RUNS) {
+                recentRuns.removeLast();
+            }
+        }
+        return stats;
+    }
+
+    public List<RecurringRunStats> getRecentRuns() {
+        synchronized (recentRuns) {
+            return new ArrayList<>(recentRuns);
+        }
+    }
+
+    private void processPartition(LocalDate today, int partition, RunCounters counters) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Long lastId = transactionTemplate.execute(status -> processChunk(today,
+                    recurringExpenseRepository.claimDueChunk(today, from, partitions, partition, CHUNK_SIZE), counters));
+            if (lastId == null) {
+                return;
+            }
+            afterId = lastId;
+        }
+    }
+
+    // Generates the occurrences of claimed series. Returns the last series id of the chunk,
+    // or null when nothing was claimed.
+    private Long processChunk(LocalDate today, List<RecurringExpense> due, RunCounters counters) {
+        if (due.isEmpty()) {
+            return null;
+        }
+
+        // Occurrences that already exist (e.g. from a run that committed them but died before
+        // advancing the series) are skipped; the unique (series, date) index backs this up
+        Set<String> existing = findExistingOccurrences(due);
+
+        MonthlyRollupService.Batch rollups = monthlyRollupService.newBatch(RollupKind.EXPENSE);
+        List<Expense> generated = new ArrayList<>();
+        Set<Long> userIds = new HashSet<>();
+
+        for (RecurringExpense recurring : due) {
+            // getId() on the lazy proxy does not load the user
+            User user = recurring.getUser();
             LocalDate dueDate = recurring.getNextDueDate();
 
             while (dueDate != null && !dueDate.isAfter(today)) {
-                Expense generated = new Expense();
-                generated.setTitle(recurring.getTitle());
-                generated.setAmount(recurring.getAmount());
-                generated.setCategory(recurring.getCategory());
-                generated.setDate(dueDate);
-                generated.setUser(recurring.getUser());
-                expenseRepository.save(generated);
-
-                createdExpenses++;
-                dueDate = incrementDueDate(dueDate, recurring.getFrequency());
+                if (existing.contains(occurrenceKey(recurring.getId(), dueDate))) {
+                    dueDate = nextDueDate(recurring, dueDate);
+                    continue;
+                }
+
+                Expense expense = new Expense();
+                expense.setTitle(recurring.getTitle());
+                expense.setAmount(recurring.getAmount());
+                expense.setCategory(recurring.getCategory());
+                expense.setDate(dueDate);
+                expense.setUser(user);
+                expense.setRecurringExpenseId(recurring.getId());
+                generated.add(expense);
+                rollups.add(user.getId(), dueDate, recurring.getCategory(), recurring.getAmount());
+
+                dueDate = nextDueDate(recurring, dueDate);
             }
 
             recurring.setNextDueDate(dueDate);
-            recurringExpenseRepository.save(recurring);
+            userIds.add(user.getId());
+        }
+
+        expenseRepository.saveAll(generated);
+        rollups.apply();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seriesIds = new ArrayList<>(due.size());
+        for (RecurringExpense recurring : due) {
+            seriesIds.add(recurring.getId());
+        }
+        recurringExpenseRepository.touch(seriesIds);
+        dataVersions.bump(userIds);
+        for (Long userId : userIds) {
+            summaryCache.invalidate(userId, SummaryCache.Region.EXPENSE_SUMMARY, SummaryCache.Region.BUDGET);
         }
 
-        return createdExpenses;
+        counters.chunks.incrementAndGet();
+        counters.series.addAndGet(due.size());
+        counters.expenses.addAndGet(generated.size());
+        return due.get(due.size() - 1).getId();
     }
 
-    private LocalDate incrementDueDate(LocalDate currentDate, String frequency) {
-        if ("WEEKLY".equalsIgnoreCase(frequency)) {
-            return currentDate.plusWeeks(1);
+    private Set<String> findExistingOccurrences(List<RecurringExpense> series) {
+        List<Long> ids = new ArrayList<>(series.size());
+        LocalDate from = null;
+        for (RecurringExpense recurring : series) {
+            ids.add(recurring.getId());
+            if (from == null || recurring.getNextDueDate().isBefore(from)) {
+                from = recurring.getNextDueDate();
+            }
         }
 
-        return currentDate.plusMonths(1);
+        Set<String> existing = new HashSet<>();
+        for (Object[] row : expenseRepository.findOccurrences(ids, from)) {
+            existing.add(occurrenceKey((Long) row[0], (LocalDate) row[1]));
+        }
+        return existing;
+    }
+
+    private static String occurrenceKey(Long seriesId, LocalDate date) {
+        return seriesId + ":" + date;
+    }
+
+    private LocalDate nextDueDate(RecurringExpense recurring, LocalDate dueDate) {
+        LocalDate anchor = recurring.getAnchorDate() != null ? recurring.getAnchorDate() : dueDate;
+        return RecurrenceRule.of(recurring.getFrequency()).nextAfter(anchor, dueDate);
+    }
+
+    private static final class RunCounters {
+        private final AtomicInteger chunks = new AtomicInteger();
+        private final AtomicInteger series = new AtomicInteger();
+        private final AtomicInteger expenses = new AtomicInteger();
     }
 }
@@ -1,65 +1,108 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.IncomeResponse;
 import com.expensetracker.entity.Budget;
-import com.expensetracker.entity.Expense;
-import com.expensetracker.entity.Income;
+import com.expensetracker.entity.RollupKind;
 import com.expensetracker.entity.User;
 import com.expensetracker.repository.BudgetRepository;
 import com.expensetracker.repository.ExpenseRepository;
 import com.expensetracker.repository.IncomeRepository;
 import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public class ReportService {
 
+    // Rows kept in memory per sheet; older rows are flushed to a temp file
+    private static final int ROW_WINDOW = 100;
+
+    // Rows read from the database per keyset page
+    private static final int FETCH_SIZE = 1000;
+
+    // Fixed column widths (in characters) so no sheet needs an autosize pass over every row
+    private static final int[] LEDGER_COLUMN_WIDTHS = {12, 40, 20, 14};
+    private static final int[] SUMMARY_COLUMN_WIDTHS = {34, 40};
+
     private final UserRepository userRepository;
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
     private final BudgetRepository budgetRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final MeterRegistry meterRegistry;
 
     public ReportService(
             UserRepository userRepository,
             IncomeRepository incomeRepository,
             ExpenseRepository expenseRepository,
-            BudgetRepository budgetRepository) {
+            BudgetRepository budgetRepository,
+            MonthlyRollupService monthlyRollupService,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.incomeRepository = incomeRepository;
         this.expenseRepository = expenseRepository;
         this.budgetRepository = budgetRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.meterRegistry = meterRegistry;
     }
 
-    public byte[] generateExcelReport(Long userId) throws IOException {
-        User user = userRepository.findById(userId)
+    public User getReportUser(Long userId) {
+        return userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 
-        List<Income> incomes = incomeRepository.findByUserIdOrderByDateDesc(userId);
-        List<Expense> expenses = expenseRepository.findByUserIdOrderByDateDesc(userId);
+    // Buffers the whole workbook; prefer writeExcelReport for anything user-facing
+    public byte[] generateExcelReport(Long userId) throws IOException {
+        User user = getReportUser(userId);
 
-        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            writeExcelReport(user, output);
+            return output.toByteArray();
+        }
+    }
+
+    // Streams the workbook to the given output with a fixed heap footprint
+    public void writeExcelReport(User user, OutputStream output) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        try {
             CellStyle headerStyle = createHeaderStyle(workbook);
 
-            buildIncomeSheet(workbook, headerStyle, incomes);
-            buildExpenseSheet(workbook, headerStyle, expenses);
-            buildSummarySheet(workbook, headerStyle, user, userId, incomes, expenses);
+            double totalIncome = buildIncomeSheet(workbook, headerStyle, user.getId());
+            double totalExpense = buildExpenseSheet(workbook, headerStyle, user.getId());
+            buildSummarySheet(workbook, headerStyle, user, totalIncome, totalExpense);
 
             workbook.write(output);
-            return output.toByteArray();
+            outcome = "success";
+        } finally {
+            workbook.dispose();
+            workbook.close();
+            sample.stop(Timer.builder("report.generation")
+                    .description("Excel report generation, including streaming it to the client")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 
-    private CellStyle createHeaderStyle(XSSFWorkbook workbook) {
+    private CellStyle createHeaderStyle(SXSSFWorkbook workbook) {
         Font headerFont = workbook.createFont();
         headerFont.setBold(true);
 
@@ -68,8 +111,10 @@ public class ReportService {
         return headerStyle;
     }
 
-    private void buildIncomeSheet(XSSFWorkbook workbook, CellStyle headerStyle, List<Income> incomes) {
-        XSSFSheet sheet = workbook.createSheet("Income");
+    // Writes every income row and returns their total
+    private double buildIncomeSheet(SXSSFWorkbook workbook, CellStyle headerStyle, Long userId) {
+        Sheet sheet = workbook.createSheet("Income");
+        setColumnWidths(sheet, LEDGER_COLUMN_WIDTHS);
 
         Row headerRow = sheet.createRow(0);
         setHeaderCell(headerRow, 0, "Date", headerStyle);
@@ -78,19 +123,33 @@ public class ReportService {
         setHeaderCell(headerRow, 3, "Amount", headerStyle);
 
         int rowIndex = 1;
-        for (Income income : incomes) {
-            Row row = sheet.createRow(rowIndex++);
-            row.createCell(0).setCellValue(income.getDate().toString());
-            row.createCell(1).setCellValue(income.getTitle());
-            row.createCell(2).setCellValue(income.getSource());
-            row.createCell(3).setCellValue(income.getAmount());
-        }
-
-        autoSizeColumns(sheet, 4);
+        double total = 0;
+        KeysetCursor after = KeysetCursor.start(null);
+        List<IncomeResponse> page;
+        do {
+            page = incomeRepository.findPage(userId, KeysetCursor.MIN_DATE, after.getDate(), after.getId(),
+                    PageRequest.of(0, FETCH_SIZE));
+            for (IncomeResponse income : page) {
+                Row row = sheet.createRow(rowIndex++);
+                row.createCell(0).setCellValue(income.getDate().toString());
+                row.createCell(1).setCellValue(income.getTitle());
+                row.createCell(2).setCellValue(income.getSource());
+                row.createCell(3).setCellValue(income.getAmount());
+                total += income.getAmount();
+            }
+            if (!page.isEmpty()) {
+                IncomeResponse last = page.get(page.size() - 1);
+                after = new KeysetCursor(last.getDate(), last.getId());
+            }
+        } while (page.size() == FETCH_SIZE);
+
+        return total;
     }
 
-    private void buildExpenseSheet(XSSFWorkbook workbook, CellStyle headerStyle, List<Expense> expenses) {
-        XSSFSheet sheet = workbook.createSheet("Expense");
+    // Writes every expense row and returns their total
+    private double buildExpenseSheet(SXSSFWorkbook workbook, CellStyle headerStyle, Long userId) {
+        Sheet sheet = workbook.createSheet("Expense");
+        setColumnWidths(sheet, LEDGER_COLUMN_WIDTHS);
 
         Row headerRow = sheet.createRow(0);
         setHeaderCell(headerRow, 0, "Date", headerStyle);
@@ -99,37 +158,48 @@ public class ReportService {
         setHeaderCell(headerRow, 3, "Amount", headerStyle);
 
         int rowIndex = 1;
-        for (Expense expense : expenses) {
-            Row row = sheet.createRow(rowIndex++);
-            row.createCell(0).setCellValue(expense.getDate().toString());
-            row.createCell(1).setCellValue(expense.getTitle());
-            row.createCell(2).setCellValue(expense.getCategory());
-            row.createCell(3).setCellValue(expense.getAmount());
-        }
-
-        autoSizeColumns(sheet, 4);
+        double total = 0;
+        KeysetCursor after = KeysetCursor.start(null);
+        List<ExpenseResponse> page;
+        do {
+            page = expenseRepository.findPage(userId, KeysetCursor.MIN_DATE, after.getDate(), after.getId(),
+                    PageRequest.of(0, FETCH_SIZE));
+            for (ExpenseResponse expense : page) {
+                Row row = sheet.createRow(rowIndex++);
+                row.createCell(0).setCellValue(expense.getDate().toString());
+                row.createCell(1).setCellValue(expense.getTitle());
+                row.createCell(2).setCellValue(expense.getCategory());
+                row.createCell(3).setCellValue(expense.getAmount());
+                total += expense.getAmount();
+            }
+            if (!page.isEmpty()) {
+                ExpenseResponse last = page.get(page.size() - 1);
+                after = new KeysetCursor(last.getDate(), last.getId());
+            }
+        } while (page.size() == FETCH_SIZE);
+
+        return total;
     }
 
     private void buildSummarySheet(
-            XSSFWorkbook workbook,
+            SXSSFWorkbook workbook,
             CellStyle headerStyle,
             User user,
-            Long userId,
-            List<Income> incomes,
-            List<Expense> expenses) {
+            double totalIncome,
+            double totalExpense) {
 
-        XSSFSheet sheet = workbook.createSheet("Summary");
+        Sheet sheet = workbook.createSheet("Summary");
+        setColumnWidths(sheet, SUMMARY_COLUMN_WIDTHS);
 
-        double totalIncome = incomes.stream().mapToDouble(Income::getAmount).sum();
-        double totalExpense = expenses.stream().mapToDouble(Expense::getAmount).sum();
+        Long userId = user.getId();
         double netBalance = totalIncome - totalExpense;
 
         LocalDate now = LocalDate.now();
         int month = now.getMonthValue();
         int year = now.getYear();
 
-        Double monthlyIncome = incomeRepository.getTotalByMonth(userId, month, year);
-        Double monthlyExpense = expenseRepository.getTotalByMonth(userId, month, year);
+        Double monthlyIncome = monthlyRollupService.getTotalByMonth(RollupKind.INCOME, userId, month, year);
+        Double monthlyExpense = monthlyRollupService.getTotalByMonth(RollupKind.EXPENSE, userId, month, year);
 
         Budget currentBudget = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year).orElse(null);
         Double budgetLimit = currentBudget != null ? currentBudget.getMonthlyLimit() : 0.0;
@@ -150,8 +220,6 @@ public class ReportService {
         createKeyValueRow(sheet, 11, "Monthly Expense (Current Month)", monthlyExpense);
         createKeyValueRow(sheet, 12, "Budget Limit (Current Month)", budgetLimit);
         createKeyValueRow(sheet, 13, "Budget Remaining (Current Month)", budgetRemaining);
-
-        autoSizeColumns(sheet, 2);
     }
 
     private void setHeaderCell(Row row, int cellIndex, String value, CellStyle style) {
@@ -160,15 +228,15 @@ public class ReportService {
         cell.setCellStyle(style);
     }
 
-    private void createKeyValueRow(XSSFSheet sheet, int rowIndex, String key, Object value) {
+    private void createKeyValueRow(Sheet sheet, int rowIndex, String key, Object value) {
         Row row = sheet.createRow(rowIndex);
         row.createCell(0).setCellValue(key);
         row.createCell(1).setCellValue(value == null ? "-" : String.valueOf(value));
     }
 
-    private void autoSizeColumns(XSSFSheet sheet, int numberOfColumns) {
-        for (int i = 0; i < numberOfColumns; i++) {
-            sheet.autoSizeColumn(i);
+    private void setColumnWidths(Sheet sheet, int[] widthsInChars) {
+        for (int i = 0; i < widthsInChars.length; i++) {
+            sheet.setColumnWidth(i, widthsInChars[i] * 256);
         }
     }
 }
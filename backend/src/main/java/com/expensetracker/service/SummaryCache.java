@@ -0,0 +1,126 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// In-process cache for per-user summary results.
+// Entries are grouped by (user, region) so a write can drop exactly the groups it affects.
+@Component
+public class SummaryCache implements MeterBinder {
+
+    public enum Region {
+        EXPENSE_SUMMARY, // monthly and category totals of expenses
+        INCOME_SUMMARY,  // monthly and source totals of incomes
+        BUDGET           // budget evaluations (depend on budgets and expenses)
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class GroupKey {
+        private final Long userId;
+        private final Region region;
+    }
+
+    private final Cache<GroupKey, ConcurrentMap<String, Optional<Object>>> groups;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public SummaryCache(
+            @Value("${app.summary-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.summary-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.groups = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Returns the cached value or loads and caches it (null results are cached too)
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, Region region, String key, Supplier<T> loader) {
+        ConcurrentMap<String, Optional<Object>> group =
+                groups.get(new GroupKey(userId, region), ignored -> new ConcurrentHashMap<>());
+
+        Optional<Object> cached = group.get(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached.orElse(null);
+        }
+
+        misses.increment();
+        T value = loader.get();
+        // If the group was invalidated while loading, this lands in a detached map and is simply dropped
+        group.putIfAbsent(key, Optional.ofNullable(value));
+        return value;
+    }
+
+    // Drops the user's entries in the given regions once the current transaction commits
+    public void invalidate(Long userId, Region... regions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId, regions);
+                }
+            });
+        } else {
+            evict(userId, regions);
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new CacheStatsResponse(
+                hitCount,
+                missCount,
+                requests == 0 ? 1.0 : (double) hitCount / requests,
+                groups.stats().evictionCount(),
+                invalidations.sum(),
+                groups.estimatedSize()
+        );
+    }
+
+    // Picked up by Spring Boot's metrics auto-configuration (MeterBinder bean)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("summary.cache.gets", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("summary.cache.gets", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("summary.cache.invalidations", invalidations, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("summary.cache.evictions", groups, cache -> cache.stats().evictionCount())
+                .register(registry);
+        Gauge.builder("summary.cache.size", groups, Cache::estimatedSize)
+                .description("Cached (user, region) groups")
+                .register(registry);
+    }
+
+    private void evict(Long userId, Region... regions) {
+        for (Region region : regions) {
+            groups.invalidate(new GroupKey(userId, region));
+        }
+        invalidations.increment();
+    }
+}
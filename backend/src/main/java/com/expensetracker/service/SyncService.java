@@ -0,0 +1,99 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.SyncDeletions;
+import com.expensetracker.dto.SyncResponse;
+import com.expensetracker.entity.SyncEntity;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.IncomeRepository;
+import com.expensetracker.repository.RecurringExpenseRepository;
+import com.expensetracker.repository.SyncTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Delta sync: the expenses, incomes, budgets and recurring series a user inserted, updated or
+// deleted since a token from an earlier sync. Without a token, or with one older than the
+// tombstone retention, it answers a full snapshot with reset = true.
+@Service
+public class SyncService {
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final BudgetRepository budgetRepository;
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final BudgetService budgetService;
+    private final Duration retention;
+
+    public SyncService(
+            ExpenseRepository expenseRepository,
+            IncomeRepository incomeRepository,
+            BudgetRepository budgetRepository,
+            RecurringExpenseRepository recurringExpenseRepository,
+            SyncTombstoneRepository tombstoneRepository,
+            BudgetService budgetService,
+            @Value("${app.sync.tombstone-retention-days:30}") long retentionDays) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.budgetRepository = budgetRepository;
+        this.recurringExpenseRepository = recurringExpenseRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.budgetService = budgetService;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    // Read-write on purpose: the token comes from the primary's pg_stat_activity, so this must
+    // not be routed to a read replica. Rows changed between the token and the reads below are
+    // sent again next time; clients upsert by id, so that is harmless.
+    @Transactional
+    public SyncResponse sync(Long userId, String since) {
+        String token = SyncToken.encode(tombstoneRepository.currentWatermark());
+
+        Instant from = since == null || since.isBlank() ? null : SyncToken.decode(since);
+        boolean reset = from == null || from.isBefore(Instant.now().minus(retention));
+        if (reset) {
+            from = Instant.EPOCH;
+        }
+
+        List<ExpenseResponse> expenses = expenseRepository.findChangedSince(userId, from);
+        SyncDeletions deleted = new SyncDeletions();
+        if (!reset) {
+            for (Object[] row : tombstoneRepository.findDeletedSince(userId, from)) {
+                Long id = (Long) row[1];
+                switch ((SyncEntity) row[0]) {
+                    case EXPENSE -> deleted.getExpenses().add(id);
+                    case INCOME -> deleted.getIncomes().add(id);
+                    case BUDGET -> deleted.getBudgets().add(id);
+                    case RECURRING -> deleted.getRecurring().add(id);
+                }
+            }
+        }
+
+        // A budget's spent/remaining follow the month's expenses, so any expense change resends
+        // the budgets (one row per month) rather than tracking which months moved
+        boolean budgetsChanged = reset || !expenses.isEmpty() || !deleted.getExpenses().isEmpty()
+                || !deleted.getBudgets().isEmpty() || budgetRepository.existsChangedSince(userId, from);
+
+        return new SyncResponse(
+                token,
+                reset,
+                expenses,
+                incomeRepository.findChangedSince(userId, from),
+                budgetsChanged ? budgetService.getBudgets(userId) : new ArrayList<>(),
+                recurringExpenseRepository.findChangedSince(userId, from),
+                deleted
+        );
+    }
+
+    // Tombstones older than the retention are useless: tokens that old get a full snapshot
+    public int purgeTombstones() {
+        return tombstoneRepository.deleteOlderThan(Instant.now().minus(retention));
+    }
+}
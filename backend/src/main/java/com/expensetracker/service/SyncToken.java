@@ -0,0 +1,28 @@
+package com.expensetracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+// Sync position: a database timestamp in epoch microseconds (see SyncTombstoneRepository.currentWatermark).
+// Clients only ever see the encoded form, so the format can change freely.
+final class SyncToken {
+
+    private SyncToken() {
+    }
+
+    static String encode(long epochMicros) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                Long.toString(epochMicros).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Instant decode(String token) {
+        try {
+            long micros = Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+            return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid sync token");
+        }
+    }
+}
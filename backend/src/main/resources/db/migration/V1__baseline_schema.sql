@@ -0,0 +1,47 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version, so this script only runs on empty databases.
+
+CREATE TABLE users (
+    id       BIGSERIAL PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE expenses (
+    id       BIGSERIAL PRIMARY KEY,
+    amount   DOUBLE PRECISION NOT NULL,
+    category VARCHAR(255)     NOT NULL,
+    date     DATE             NOT NULL,
+    title    VARCHAR(255)     NOT NULL,
+    user_id  BIGINT           NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE incomes (
+    id      BIGSERIAL PRIMARY KEY,
+    amount  DOUBLE PRECISION NOT NULL,
+    date    DATE             NOT NULL,
+    source  VARCHAR(255)     NOT NULL,
+    title   VARCHAR(255)     NOT NULL,
+    user_id BIGINT           NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE budgets (
+    id            BIGSERIAL PRIMARY KEY,
+    month         INTEGER          NOT NULL,
+    monthly_limit DOUBLE PRECISION NOT NULL,
+    budget_year   INTEGER          NOT NULL,
+    user_id       BIGINT           NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE recurring_expenses (
+    id            BIGSERIAL PRIMARY KEY,
+    active        BOOLEAN          NOT NULL,
+    amount        DOUBLE PRECISION NOT NULL,
+    category      VARCHAR(255)     NOT NULL,
+    frequency     VARCHAR(255)     NOT NULL,
+    next_due_date DATE             NOT NULL,
+    title         VARCHAR(255)     NOT NULL,
+    user_id       BIGINT           NOT NULL REFERENCES users (id)
+);
@@ -0,0 +1,22 @@
+-- Composite indexes for the per-user, date-ordered queries (listing, keyset pages, month ranges).
+CREATE INDEX idx_expenses_user_date ON expenses (user_id, date DESC, id DESC);
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category, date DESC, id DESC);
+
+CREATE INDEX idx_incomes_user_date ON incomes (user_id, date DESC, id DESC);
+CREATE INDEX idx_incomes_user_source_date ON incomes (user_id, source, date DESC, id DESC);
+
+CREATE INDEX idx_recurring_expenses_user_due ON recurring_expenses (user_id, next_due_date);
+
+-- The scheduler only ever looks for active series that are due; inactive rows stay out of the index
+CREATE INDEX idx_recurring_expenses_active_due ON recurring_expenses (next_due_date) WHERE active;
+
+-- The entity always declared one budget per user and month, but Hibernate never created it
+-- (the mapping named the column "year" instead of "budget_year"). Keep the newest duplicate.
+DELETE FROM budgets older
+    USING budgets newer
+    WHERE older.user_id = newer.user_id
+      AND older.month = newer.month
+      AND older.budget_year = newer.budget_year
+      AND older.id < newer.id;
+
+ALTER TABLE budgets ADD CONSTRAINT uk_budgets_user_month_year UNIQUE (user_id, month, budget_year);
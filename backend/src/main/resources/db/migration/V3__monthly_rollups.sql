@@ -0,0 +1,23 @@
+-- Running totals per user, month and category (expenses) or source (incomes).
+-- Kept up to date by the services in the same transaction as every write, so the
+-- dashboard summaries read a handful of rows instead of scanning expenses/incomes.
+CREATE TABLE monthly_rollups (
+    user_id      BIGINT           NOT NULL REFERENCES users (id),
+    kind         VARCHAR(16)      NOT NULL,
+    rollup_year  INTEGER          NOT NULL,
+    rollup_month INTEGER          NOT NULL,
+    label        VARCHAR(255)     NOT NULL,
+    total        DOUBLE PRECISION NOT NULL,
+    entry_count  BIGINT           NOT NULL,
+    PRIMARY KEY (user_id, kind, rollup_year, rollup_month, label)
+);
+
+INSERT INTO monthly_rollups (user_id, kind, rollup_year, rollup_month, label, total, entry_count)
+SELECT user_id, 'EXPENSE', EXTRACT(YEAR FROM date)::INTEGER, EXTRACT(MONTH FROM date)::INTEGER, category, SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category;
+
+INSERT INTO monthly_rollups (user_id, kind, rollup_year, rollup_month, label, total, entry_count)
+SELECT user_id, 'INCOME', EXTRACT(YEAR FROM date)::INTEGER, EXTRACT(MONTH FROM date)::INTEGER, source, SUM(amount), COUNT(*)
+FROM incomes
+GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), source;
@@ -0,0 +1,9 @@
+-- Expenses and incomes get their ids from Hibernate's pooled optimizer so inserts can be
+-- batched. Each nextval hands out a block of 50 ids (hi - 49 .. hi), so the sequences step by 50.
+ALTER SEQUENCE expenses_id_seq INCREMENT BY 50;
+ALTER SEQUENCE incomes_id_seq INCREMENT BY 50;
+
+-- A plain nextval default would return the top of a block Hibernate may already be using,
+-- so ids must always come from the application.
+ALTER TABLE expenses ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE incomes ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,7 @@
+-- Expenses generated by a recurring series remember the series they came from.
+-- One occurrence per (series, date): a retried or overlapping run cannot insert it twice.
+ALTER TABLE expenses ADD COLUMN recurring_expense_id BIGINT REFERENCES recurring_expenses (id) ON DELETE SET NULL;
+
+CREATE UNIQUE INDEX uk_expenses_recurring_occurrence
+    ON expenses (recurring_expense_id, date)
+    WHERE recurring_expense_id IS NOT NULL;
@@ -0,0 +1,5 @@
+-- First due date of a series. Occurrences are computed from it (see RecurrenceRule), so month-end
+-- and nth-weekday schedules do not drift as next_due_date advances.
+ALTER TABLE recurring_expenses ADD COLUMN anchor_date DATE;
+UPDATE recurring_expenses SET anchor_date = next_due_date;
+ALTER TABLE recurring_expenses ALTER COLUMN anchor_date SET NOT NULL;
@@ -0,0 +1,3 @@
+-- Bumped by every write to a user's expenses, incomes, budgets or recurring series, in the same
+-- transaction; GET responses carry an ETag derived from it (see DataVersionInterceptor).
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- Delta sync (GET /api/sync). Every write stamps updated_at with now(), the transaction start
+-- time: the DEFAULT covers inserts, each UPDATE sets it explicitly. Deletes leave a tombstone.
+ALTER TABLE expenses ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+ALTER TABLE incomes ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+ALTER TABLE budgets ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+ALTER TABLE recurring_expenses ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX idx_expenses_user_updated ON expenses (user_id, updated_at);
+CREATE INDEX idx_incomes_user_updated ON incomes (user_id, updated_at);
+CREATE INDEX idx_budgets_user_updated ON budgets (user_id, updated_at);
+CREATE INDEX idx_recurring_expenses_user_updated ON recurring_expenses (user_id, updated_at);
+
+-- Kept for app.sync.tombstone-retention-days; older sync tokens get a full reload instead
+CREATE TABLE sync_tombstones (
+    id         BIGSERIAL   PRIMARY KEY,
+    user_id    BIGINT      NOT NULL REFERENCES users (id),
+    entity     VARCHAR(16) NOT NULL,
+    entity_id  BIGINT      NOT NULL,
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+CREATE INDEX idx_sync_tombstones_user_deleted ON sync_tombstones (user_id, deleted_at);
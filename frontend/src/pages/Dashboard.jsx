@@ -14,13 +14,7 @@ import {
   YAxis,
   CartesianGrid,
 } from 'recharts'
-import {
-  getCurrentBudget,
-  getExpenseMonthlySummary,
-  getExpenses,
-  getIncomeMonthlySummary,
-  getIncomes,
-} from '../services/api'
+import { getDashboard } from '../services/api'
 
 const MONTHS = ['Jan', 'Feb', 'Mar', 'Apr', 'May', 'Jun', 'Jul', 'Aug', 'Sep', 'Oct', 'Nov', 'Dec']
 const DONUT_COLORS = ['#10b981', '#ef4444', '#8b5cf6']
@@ -30,8 +24,8 @@ const formatCurrency = (value) =>
 
 function Dashboard() {
   const { user } = useOutletContext()
-  const [expenses, setExpenses] = useState([])
-  const [incomes, setIncomes] = useState([])
+  const [totals, setTotals] = useState({ totalIncome: 0, totalExpense: 0, balance: 0 })
+  const [recentTransactions, setRecentTransactions] = useState([])
   const [expenseMonthly, setExpenseMonthly] = useState([])
   const [incomeMonthly, setIncomeMonthly] = useState([])
   const [currentBudget, setCurrentBudget] = useState(null)
@@ -40,20 +34,13 @@ function Dashboard() {
   const fetchDashboard = async () => {
     try {
       setLoading(true)
-      const now = new Date()
-      const [expenseRes, incomeRes, expenseMonthRes, incomeMonthRes, budgetRes] = await Promise.all([
-        getExpenses(user.id),
-        getIncomes(user.id),
-        getExpenseMonthlySummary(user.id),
-        getIncomeMonthlySummary(user.id),
-        getCurrentBudget(user.id, now.getMonth() + 1, now.getFullYear()),
-      ])
-
-      setExpenses(expenseRes.data)
-      setIncomes(incomeRes.data)
-      setExpenseMonthly(expenseMonthRes.data)
-      setIncomeMonthly(incomeMonthRes.data)
-      setCurrentBudget(budgetRes.data)
+      const { data } = await getDashboard(user.id)
+
+      setTotals({ totalIncome: data.totalIncome, totalExpense: data.totalExpense, balance: data.balance })
+      setRecentTransactions(data.recentTransactions)
+      setExpenseMonthly(data.expenseMonthly)
+      setIncomeMonthly(data.incomeMonthly)
+      setCurrentBudget(data.currentBudget)
     } catch (error) {
       toast.error('Failed to load dashboard data')
     } finally {
@@ -65,22 +52,6 @@ function Dashboard() {
     fetchDashboard()
   }, [user.id])
 
-  const totals = useMemo(() => {
-    const totalIncome = incomes.reduce((sum, item) => sum + item.amount, 0)
-    const totalExpense = expenses.reduce((sum, item) => sum + item.amount, 0)
-    return {
-      totalIncome,
-      totalExpense,
-      balance: totalIncome - totalExpense,
-    }
-  }, [incomes, expenses])
-
-  const recentTransactions = useMemo(() => {
-    return [...incomes.map((item) => ({ ...item, type: 'Income' })), ...expenses.map((item) => ({ ...item, type: 'Expense' }))]
-      .sort((a, b) => new Date(b.date) - new Date(a.date))
-      .slice(0, 8)
-  }, [incomes, expenses])
-
   const financialDonutData = useMemo(() => {
     const safeBalance = Math.max(totals.balance, 0)
     return [
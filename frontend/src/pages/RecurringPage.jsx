@@ -11,7 +11,16 @@ import {
 } from '../services/api'
 
 const categories = ['Food', 'Transport', 'Shopping', 'Bills', 'Entertainment', 'Health', 'Education', 'Other']
-const frequencies = ['MONTHLY', 'WEEKLY']
+const frequencies = ['DAILY', 'WEEKLY', 'BIWEEKLY', 'MONTHLY', 'MONTHLY_NTH_WEEKDAY', 'QUARTERLY', 'YEARLY']
+const frequencyLabels = {
+  DAILY: 'Daily',
+  WEEKLY: 'Weekly',
+  BIWEEKLY: 'Every 2 weeks',
+  MONTHLY: 'Monthly',
+  MONTHLY_NTH_WEEKDAY: 'Monthly (same weekday)',
+  QUARTERLY: 'Quarterly',
+  YEARLY: 'Yearly',
+}
 
 const createInitialForm = () => ({
   title: '',
@@ -173,7 +182,7 @@ function RecurringPage() {
             >
               {frequencies.map((frequency) => (
                 <option key={frequency} value={frequency}>
-                  {frequency}
+                  {frequencyLabels[frequency]}
                 </option>
               ))}
             </select>
@@ -236,7 +245,7 @@ function RecurringPage() {
                   <td className="py-3 font-medium">{item.title}</td>
                   <td className="py-3">₹{item.amount.toFixed(2)}</td>
                   <td className="py-3">{item.category}</td>
-                  <td className="py-3">{item.frequency}</td>
+                  <td className="py-3">{frequencyLabels[item.frequency] || item.frequency}</td>
                   <td className="py-3 text-[var(--muted-text)]">{item.nextDueDate}</td>
                   <td className="py-3">
                     <span
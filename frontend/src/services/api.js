@@ -8,6 +8,23 @@ const API = axios.create({
 export const registerUser = (data) => API.post('/auth/register', data)
 export const loginUser = (data) => API.post('/auth/login', data)
 
+// Dashboard
+export const getDashboard = (userId) => API.get('/dashboard', { params: { userId } })
+
+// Delta sync: pass the token of the previous response as `since` (omit it for a full snapshot)
+export const syncChanges = (userId, since) => {
+  const params = { userId }
+  if (since) params.since = since
+  return API.get('/sync', { params })
+}
+
+// Ledger: incomes and expenses newest first with a running balance; pass nextCursor for the next page
+export const getLedger = (userId, cursor, limit = 50) => {
+  const params = { userId, limit }
+  if (cursor) params.cursor = cursor
+  return API.get('/ledger', { params })
+}
+
 // Expense
 export const getExpenses = (userId, category, startDate, endDate) => {
   const params = { userId }